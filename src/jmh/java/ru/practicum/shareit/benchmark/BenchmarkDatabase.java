@@ -0,0 +1,165 @@
+package ru.practicum.shareit.benchmark;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.ShareItApp;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
+import ru.practicum.shareit.item.service.ItemBookingSummaryReconciler;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Starts the application, by default without the web layer, on the in-memory H2 database of the test profile
+ * and seeds it with JDBC batches. Every JMH fork gets its own database.
+ */
+public final class BenchmarkDatabase {
+    public static final String[] WORDS = {
+        "drill", "ladder", "tent", "bicycle", "kayak", "camera", "projector", "saw", "tripod", "grill",
+        "speaker", "scooter", "drone", "hammer", "sander", "mixer", "jack", "compressor", "lantern", "stroller"
+    };
+    private static final int SEQUENCE_ALLOCATION_SIZE = 50;
+    private static final int BATCH_SIZE = 1000;
+
+    private BenchmarkDatabase() {
+    }
+
+    public static ConfigurableApplicationContext start(String... args) {
+        return start(WebApplicationType.NONE, args);
+    }
+
+    /**
+     * Starts the application with the given web layer, {@link WebApplicationType#SERVLET} serves real HTTP
+     */
+    public static ConfigurableApplicationContext start(WebApplicationType webType, String... args) {
+        String[] defaults = {
+            "--spring.jpa.show-sql=false",
+            "--logging.level.root=WARN",
+            "--logging.level.org.springframework.orm.jpa=WARN",
+            "--logging.level.org.springframework.transaction=WARN",
+            "--logging.level.org.springframework.transaction.interceptor=WARN",
+            "--logging.level.org.springframework.orm.jpa.JpaTransactionManager=WARN",
+            "--shareit.item-summary.reconcile-initial-delay=PT24H",
+            "--shareit.booking-sweeper.initial-delay=PT24H"
+        };
+        String[] all = new String[defaults.length + args.length];
+        System.arraycopy(defaults, 0, all, 0, defaults.length);
+        System.arraycopy(args, 0, all, defaults.length, args.length);
+        return new SpringApplicationBuilder(ShareItApp.class)
+                .web(webType)
+                .profiles("test")
+                .run(all);
+    }
+
+    /**
+     * Seeds users, items of every user, bookings of every item and comments, then rebuilds
+     * derived in-memory state. User ids start from 1, user i owns items of the i-th block.
+     */
+    public static void seed(ConfigurableApplicationContext context, int users, int itemsPerUser,
+                            int bookingsPerItem, int commentsPerItem) {
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS);
+        long items = (long) users * itemsPerUser;
+
+        batch(jdbc, "insert into users (user_id, name, email) values (?, ?, ?)", users, (ps, row) -> {
+            ps.setLong(1, row + 1);
+            ps.setString(2, "user " + (row + 1));
+            ps.setString(3, "user" + (row + 1) + "@example.com");
+        });
+        batch(jdbc, "insert into items (item_id, name, description, available, owner_id) values (?, ?, ?, ?, ?)",
+                items, (ps, row) -> {
+                ps.setLong(1, row + 1);
+                ps.setString(2, word(row * 7) + " " + word(row * 13 + 3) + " " + (row + 1));
+                ps.setString(3, "good " + word(row * 3 + 1) + " for " + word(row * 11 + 5));
+                ps.setBoolean(4, row % 10 != 0);
+                ps.setLong(5, row / itemsPerUser + 1);
+            });
+        batch(jdbc, "insert into bookings (booking_id, start_date, end_date, item_id, booker_id, status) " +
+                "values (?, ?, ?, ?, ?, ?)", items * bookingsPerItem, (ps, row) -> {
+                long item = row / bookingsPerItem;
+                long slot = row % bookingsPerItem - bookingsPerItem / 2;
+                LocalDateTime start = now.plusDays(slot * 2);
+                ps.setLong(1, row + 1);
+                ps.setObject(2, start);
+                ps.setObject(3, start.plusDays(1));
+                ps.setLong(4, item + 1);
+                ps.setLong(5, (item / itemsPerUser + 1 + row % (users - 1)) % users + 1);
+                ps.setString(6, BookingStatus.values()[(int) (row % BookingStatus.values().length)].name());
+            });
+        batch(jdbc, "insert into comments (comment_id, text, item_id, author_id, create_date) values (?, ?, ?, ?, ?)",
+                items * commentsPerItem, (ps, row) -> {
+                ps.setLong(1, row + 1);
+                ps.setString(2, "nice " + word(row));
+                ps.setLong(3, row / commentsPerItem + 1);
+                ps.setLong(4, row % users + 1);
+                ps.setObject(5, now.minusDays(row % 30));
+            });
+        restartSequence(jdbc, "items_seq", items);
+        restartSequence(jdbc, "bookings_seq", items * bookingsPerItem);
+        restartSequence(jdbc, "comments_seq", items * commentsPerItem);
+
+        context.getBean(ItemSearchIndex.class).rebuild();
+        context.getBean(ItemBookingSummaryReconciler.class).reconcile();
+    }
+
+    /**
+     * Seeds requests created a minute apart, newest first by id, and makes every seeded item answer one of them
+     */
+    public static void seedRequests(ConfigurableApplicationContext context, int users, int requests) {
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MINUTES);
+        batch(jdbc, "insert into requests (request_id, description, requestor_id, created) values (?, ?, ?, ?)",
+                requests, (ps, row) -> {
+                ps.setLong(1, row + 1);
+                ps.setString(2, "need " + word(row * 5 + 2));
+                ps.setLong(3, row % users + 1);
+                ps.setObject(4, requestCreated(now, row + 1));
+            });
+        jdbc.update("update items set request_id = mod(item_id - 1, ?) + 1", requests);
+        restartSequence(jdbc, "requests_seq", requests);
+    }
+
+    public static LocalDateTime requestCreated(LocalDateTime now, long requestId) {
+        return now.minusMinutes(requestId);
+    }
+
+    public static String word(long row) {
+        return WORDS[(int) (row % WORDS.length)];
+    }
+
+    /**
+     * Moves a pooled sequence past explicitly inserted ids, the first pool starts allocation size below the value
+     */
+    private static void restartSequence(JdbcTemplate jdbc, String sequence, long rows) {
+        jdbc.execute("alter sequence " + sequence + " restart with " + (rows + SEQUENCE_ALLOCATION_SIZE + 1));
+    }
+
+    private static void batch(JdbcTemplate jdbc, String sql, long rows, RowWriter writer) {
+        for (long first = 0; first < rows; first += BATCH_SIZE) {
+            long offset = first;
+            int size = (int) Math.min(BATCH_SIZE, rows - first);
+            jdbc.batchUpdate(sql, new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    writer.write(ps, offset + i);
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return size;
+                }
+            });
+        }
+    }
+
+    @FunctionalInterface
+    private interface RowWriter {
+        void write(PreparedStatement ps, long row) throws SQLException;
+    }
+}
@@ -0,0 +1,57 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.practicum.shareit.booking.dto.BookingPageDto;
+import ru.practicum.shareit.booking.model.BookingState;
+import ru.practicum.shareit.booking.service.BookingService;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Booking lists of an owner and of a booker for every state against a seeded H2 database
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookingServiceBenchmark {
+    private static final int USERS = 50;
+    private static final int PAGE_SIZE = 100;
+
+    @Param({"20", "200"})
+    int itemsPerOwner;
+
+    @Param({"20"})
+    int bookingsPerItem;
+
+    @Param({"ALL", "CURRENT", "PAST", "FUTURE", "WAITING", "REJECTED"})
+    BookingState state;
+
+    private ConfigurableApplicationContext context;
+    private BookingService bookingService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkDatabase.start();
+        BenchmarkDatabase.seed(context, USERS, itemsPerOwner, bookingsPerItem, 0);
+        bookingService = context.getBean(BookingService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public BookingPageDto getByOwnerAndState() {
+        return bookingService.getByOwnerAndState(1L, state, null, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public BookingPageDto getByUserAndState() {
+        return bookingService.getByUserAndState(2L, state, null, PAGE_SIZE);
+    }
+}
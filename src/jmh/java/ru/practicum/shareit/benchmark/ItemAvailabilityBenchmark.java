@@ -0,0 +1,56 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.TimeWindow;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingAvailabilityEngine;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Free windows of an item for a month, with a growing number of future bookings of the item
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ItemAvailabilityBenchmark {
+    private static final Long ITEM_ID = 1L;
+
+    @Param({"10", "1000", "10000"})
+    int bookings;
+
+    private BookingAvailabilityEngine engine;
+    private LocalDateTime from;
+    private LocalDateTime to;
+
+    @Setup
+    public void setUp() {
+        BookingRepository repository = (BookingRepository) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{BookingRepository.class}, (proxy, method, args) -> {
+                    throw new UnsupportedOperationException();
+                });
+        engine = new BookingAvailabilityEngine(repository);
+        LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.HOURS);
+        for (long i = 0; i < bookings; i++) {
+            LocalDateTime bookingStart = start.plusHours(i * 6);
+            Booking booking = new Booking();
+            booking.setId(i + 1);
+            engine.reserve(ITEM_ID, bookingStart, bookingStart.plusHours(4), () -> booking);
+        }
+        from = start.plusHours(bookings * 3L);
+        to = from.plusDays(30);
+    }
+
+    @Benchmark
+    public List<TimeWindow> month() {
+        return engine.getFreeWindows(ITEM_ID, from, to);
+    }
+}
@@ -0,0 +1,60 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.practicum.shareit.core.pagination.KeysetCursor;
+import ru.practicum.shareit.request.dto.ItemRequestPageDto;
+import ru.practicum.shareit.request.service.ItemRequestService;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Request feed page time for a growing number of requests, first page and a page in the middle of the feed.
+ * Both stay flat with keyset paging, an offset page would grow with its position.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ItemRequestFeedBenchmark {
+    private static final int USERS = 100;
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"1000", "100000", "1000000"})
+    int requests;
+
+    private ConfigurableApplicationContext context;
+    private ItemRequestService itemRequestService;
+    private String middleCursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkDatabase.start();
+        BenchmarkDatabase.seed(context, USERS, 20, 0, 0);
+        BenchmarkDatabase.seedRequests(context, USERS, requests);
+        itemRequestService = context.getBean(ItemRequestService.class);
+
+        long middle = requests / 2;
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MINUTES);
+        middleCursor = new KeysetCursor(BenchmarkDatabase.requestCreated(now, middle), middle).encode();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public ItemRequestPageDto firstPage() {
+        return itemRequestService.getAll(1L, null, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public ItemRequestPageDto middlePage() {
+        return itemRequestService.getAll(1L, middleCursor, PAGE_SIZE);
+    }
+}
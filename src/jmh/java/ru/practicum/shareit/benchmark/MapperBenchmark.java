@@ -0,0 +1,109 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openapitools.jackson.nullable.JsonNullable;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
+import ru.practicum.shareit.booking.mapper.BookingMapperImpl;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.core.mapper.JsonNullableMapper;
+import ru.practicum.shareit.core.mapper.JsonNullableMapperImpl;
+import ru.practicum.shareit.item.dto.CommentResponseDto;
+import ru.practicum.shareit.item.dto.DatesDto;
+import ru.practicum.shareit.item.dto.ItemDatesDto;
+import ru.practicum.shareit.item.dto.ItemUpdateDto;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.mapper.ItemMapperImpl;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+    private ItemMapper itemMapper;
+    private BookingMapper bookingMapper;
+    private JsonNullableMapper jsonNullableMapper;
+
+    private Item item;
+    private DatesDto lastBooking;
+    private DatesDto nextBooking;
+    private List<CommentResponseDto> comments;
+    private Booking booking;
+    private ItemUpdateDto update;
+    private JsonNullable<String> wrapped;
+
+    @Setup
+    public void setUp() {
+        jsonNullableMapper = new JsonNullableMapperImpl();
+        ItemMapperImpl itemMapperImpl = new ItemMapperImpl();
+        ReflectionTestUtils.setField(itemMapperImpl, "jsonNullableMapper", jsonNullableMapper);
+        itemMapper = itemMapperImpl;
+        bookingMapper = new BookingMapperImpl();
+
+        User owner = new User();
+        owner.setId(1L);
+        owner.setName("owner");
+        owner.setEmail("owner@example.com");
+
+        item = new Item();
+        item.setId(1L);
+        item.setName("Drill");
+        item.setDescription("Cordless drill with two batteries");
+        item.setAvailable(true);
+        item.setOwner(owner);
+
+        LocalDateTime now = LocalDateTime.now();
+        lastBooking = new DatesDto(1L, 2L, now.minusDays(2).toString(), now.minusDays(1).toString());
+        nextBooking = new DatesDto(2L, 3L, now.plusDays(1).toString(), now.plusDays(2).toString());
+        comments = List.of(
+                new CommentResponseDto(1L, "Works fine", "booker", now.toString()),
+                new CommentResponseDto(2L, "Battery is weak", "another booker", now.toString()));
+
+        booking = new Booking();
+        booking.setId(1L);
+        booking.setStartDate(now.plusDays(1));
+        booking.setEndDate(now.plusDays(2));
+        booking.setItem(item);
+        booking.setBooker(owner);
+
+        update = new ItemUpdateDto();
+        update.setName(JsonNullable.of("Hammer drill"));
+        update.setAvailable(JsonNullable.of(false));
+        wrapped = JsonNullable.of("value");
+    }
+
+    @Benchmark
+    public ItemDatesDto itemWithDates() {
+        return itemMapper.map(item, lastBooking, nextBooking, comments);
+    }
+
+    @Benchmark
+    public BookingResponseDto booking() {
+        return bookingMapper.map(booking);
+    }
+
+    @Benchmark
+    public Item itemPartialUpdate() {
+        itemMapper.update(update, 1L, 1L, item);
+        return item;
+    }
+
+    @Benchmark
+    public JsonNullable<String> jsonNullableWrap() {
+        return jsonNullableMapper.wrap("value");
+    }
+
+    @Benchmark
+    public String jsonNullableUnwrap() {
+        return jsonNullableMapper.unwrap(wrapped);
+    }
+}
@@ -0,0 +1,72 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Owner dashboard under concurrent load over HTTP, compares throughput and latency percentiles
+ * of Tomcat and the parallel fan-out on platform and virtual threads
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Threads(64)
+@Fork(1)
+public class OwnerItemsLoadBenchmark {
+    private static final int USERS = 200;
+
+    @Param({"false", "true"})
+    boolean virtualThreads;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private HttpRequest[] requests;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkDatabase.start(WebApplicationType.SERVLET,
+                "--server.port=0",
+                "--shareit.rate-limit.enabled=false",
+                "--spring.threads.virtual.enabled=" + virtualThreads);
+        BenchmarkDatabase.seed(context, USERS, 20, 20, 3);
+        URI items = URI.create("http://localhost:" + context.getEnvironment().getProperty("local.server.port")
+                + "/items");
+        requests = new HttpRequest[USERS];
+        for (int i = 0; i < USERS; i++) {
+            requests[i] = HttpRequest.newBuilder(items)
+                    .header("X-Sharer-User-Id", String.valueOf(i + 1))
+                    .GET()
+                    .build();
+        }
+        client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        client.close();
+        context.close();
+    }
+
+    @Benchmark
+    public byte[] getByOwnerId() throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = client.send(requests[ThreadLocalRandom.current().nextInt(USERS)],
+                HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("GET /items returned " + response.statusCode());
+        }
+        return response.body();
+    }
+}
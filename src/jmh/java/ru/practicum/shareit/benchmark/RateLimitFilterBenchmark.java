@@ -0,0 +1,91 @@
+package ru.practicum.shareit.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import ru.practicum.shareit.core.ratelimit.RateLimitFilter;
+import ru.practicum.shareit.core.ratelimit.RateLimitProperties;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time the rate limit filter adds to a request, compared with the bare filter chain. Requests come from
+ * a number of users on 8 threads, limits are high enough for every request to pass as in normal traffic.
+ * The difference of the two benchmarks is expected to stay below a microsecond.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(8)
+@Fork(1)
+public class RateLimitFilterBenchmark {
+    private static final FilterChain CHAIN = (request, response) -> {
+    };
+
+    @Param({"1", "10000"})
+    int users;
+
+    private RateLimitFilter filter;
+
+    @Setup
+    public void setUp() {
+        RateLimitProperties.Group search = new RateLimitProperties.Group();
+        search.setEndpoints(List.of("GET /items/search"));
+        search.setLimit(1_000_000_000L);
+        search.setPeriod(Duration.ofSeconds(1));
+        search.setBurst(1_000_000);
+        RateLimitProperties.Group other = new RateLimitProperties.Group();
+        other.setEndpoints(List.of("GET /bookings/owner", "* /**"));
+        other.setLimit(1_000_000_000L);
+        other.setBurst(1_000_000);
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.getGroups().put("search", search);
+        properties.getGroups().put("other", other);
+        filter = new RateLimitFilter(properties, new ObjectMapper(), new SimpleMeterRegistry());
+    }
+
+    /**
+     * Requests of random users built once per thread and cycled through, so no setup runs per invocation.
+     * The filter leaves passed requests and responses unchanged, so they can be reused.
+     */
+    @State(Scope.Thread)
+    public static class Requests {
+        private static final int SIZE = 1024;
+
+        final MockHttpServletRequest[] requests = new MockHttpServletRequest[SIZE];
+        final MockHttpServletResponse response = new MockHttpServletResponse();
+        int next;
+
+        @Setup
+        public void setUp(RateLimitFilterBenchmark benchmark) {
+            for (int i = 0; i < SIZE; i++) {
+                requests[i] = new MockHttpServletRequest("GET", "/items/search");
+                requests[i].addHeader("X-Sharer-User-Id",
+                        String.valueOf(ThreadLocalRandom.current().nextInt(benchmark.users) + 1));
+            }
+        }
+
+        MockHttpServletRequest next() {
+            next = (next + 1) & (SIZE - 1);
+            return requests[next];
+        }
+    }
+
+    @Benchmark
+    public void chainOnly(Requests requests) throws Exception {
+        CHAIN.doFilter(requests.next(), requests.response);
+    }
+
+    @Benchmark
+    public void rateLimited(Requests requests) throws Exception {
+        filter.doFilter(requests.next(), requests.response, CHAIN);
+    }
+}
@@ -0,0 +1,57 @@
+package ru.practicum.shareit.benchmark;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openapitools.jackson.nullable.JsonNullableModule;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialization of booking lists with the object mapper settings of JacksonConfig
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+    @Param({"10", "100", "1000"})
+    int size;
+
+    private ObjectMapper objectMapper;
+    private List<BookingResponseDto> bookings;
+
+    @Setup
+    public void setUp() {
+        objectMapper = new Jackson2ObjectMapperBuilder()
+                .serializationInclusion(JsonInclude.Include.ALWAYS)
+                .modulesToInstall(new JsonNullableModule())
+                .build();
+        LocalDateTime now = LocalDateTime.now();
+        bookings = new ArrayList<>(size);
+        for (long i = 1; i <= size; i++) {
+            bookings.add(new BookingResponseDto(i,
+                    now.plusDays(i).toString(),
+                    now.plusDays(i + 1).toString(),
+                    BookingStatus.APPROVED,
+                    new UserDto(i, "booker " + i, "booker" + i + "@example.com"),
+                    new ItemDto(i, "item " + i, "description of item " + i, true, null)));
+        }
+    }
+
+    @Benchmark
+    public byte[] serializeBookings() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(bookings);
+    }
+}
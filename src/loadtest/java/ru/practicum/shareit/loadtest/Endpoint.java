@@ -0,0 +1,38 @@
+package ru.practicum.shareit.loadtest;
+
+/**
+ * Endpoints driven by the load test with their share of the arrivals
+ */
+enum Endpoint {
+    GET_ITEM("GET /items/{itemId}", 25),
+    GET_OWNER_ITEMS("GET /items", 10),
+    SEARCH_ITEMS("GET /items/search", 20),
+    ADD_BOOKING("POST /bookings", 10),
+    GET_BOOKINGS("GET /bookings", 15),
+    GET_OWNER_BOOKINGS("GET /bookings/owner", 15),
+    ADD_COMMENT("POST /items/{itemId}/comment", 5);
+
+    static final int TOTAL_WEIGHT = 100;
+
+    final String route;
+    final int weight;
+
+    Endpoint(String route, int weight) {
+        this.route = route;
+        this.weight = weight;
+    }
+
+    /**
+     * Endpoint of the value from 0 to 99
+     */
+    static Endpoint pick(int value) {
+        int bound = 0;
+        for (Endpoint endpoint : values()) {
+            bound += endpoint.weight;
+            if (value < bound) {
+                return endpoint;
+            }
+        }
+        throw new IllegalArgumentException("Value is out of 0.." + (TOTAL_WEIGHT - 1) + ": " + value);
+    }
+}
@@ -0,0 +1,95 @@
+package ru.practicum.shareit.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.ShareItApp;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Starts ShareItApp on an H2 database file, seeds it with skewed synthetic data on the first run
+ * and drives the HTTP endpoints with an open-model load, then writes the report as JSON.
+ */
+@Slf4j
+public final class LoadTest {
+    private static final String[] DATABASE_FILE_SUFFIXES = {".mv.db", ".trace.db"};
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        LoadTestSettings settings = LoadTestSettings.parse(args);
+        Files.createDirectories(settings.database().getParent());
+        if (settings.fresh()) {
+            for (String suffix : DATABASE_FILE_SUFFIXES) {
+                Files.deleteIfExists(Path.of(settings.database() + suffix));
+            }
+        }
+
+        String startedAt = OffsetDateTime.now().toString();
+        try (ConfigurableApplicationContext context = start(settings)) {
+            LoadTestData data = LoadTestData.prepare(context, settings);
+            ObjectMapper objectMapper = context.getBean(ObjectMapper.class);
+            URI base = URI.create("http://localhost:" + context.getEnvironment().getRequiredProperty("local.server.port"));
+
+            List<LoadTestReport.EndpointReport> endpoints = new OpenModelLoad(base, data, objectMapper, settings).run();
+            LoadTestReport report = new LoadTestReport(startedAt,
+                    settings.virtualThreads() ? "virtual" : "platform",
+                    settings.rate(),
+                    settings.warmup().toSeconds(),
+                    settings.duration().toSeconds(),
+                    counts(context.getBean(JdbcTemplate.class)),
+                    endpoints);
+            Files.createDirectories(settings.report().getParent());
+            objectMapper.writerWithDefaultPrettyPrinter().writeValue(settings.report().toFile(), report);
+            endpoints.forEach(endpoint -> log.info("{}: {} req/s, p50 {} ms, p99 {} ms, p999 {} ms, errors {}",
+                    endpoint.endpoint(), String.format("%.1f", endpoint.throughput()), endpoint.p50(), endpoint.p99(),
+                    endpoint.p999(), endpoint.serverErrors() + endpoint.failed() + endpoint.dropped()));
+            log.info("LoadTest: report written to {}", settings.report());
+        }
+    }
+
+    private static ConfigurableApplicationContext start(LoadTestSettings settings) {
+        List<String> args = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:file:" + settings.database(),
+                "--spring.threads.virtual.enabled=" + settings.virtualThreads(),
+                "--spring.jpa.show-sql=false",
+                "--spring.output.ansi.enabled=NEVER",
+                "--logging.level.root=WARN",
+                "--logging.level.org.springframework.orm.jpa=WARN",
+                "--logging.level.org.springframework.transaction=WARN",
+                "--logging.level.org.springframework.transaction.interceptor=WARN",
+                "--logging.level.org.springframework.orm.jpa.JpaTransactionManager=WARN",
+                "--logging.level.ru.practicum.shareit.loadtest=INFO",
+                "--shareit.rate-limit.enabled=false",
+                "--shareit.item-summary.reconcile-initial-delay=PT24H",
+                "--shareit.booking-sweeper.initial-delay=PT24H"
+        ));
+        args.addAll(settings.applicationArgs());
+        return new SpringApplicationBuilder(ShareItApp.class)
+                .web(WebApplicationType.SERVLET)
+                .profiles("test")
+                .run(args.toArray(String[]::new));
+    }
+
+    private static LoadTestReport.Data counts(JdbcTemplate jdbc) {
+        return new LoadTestReport.Data(count(jdbc, "users"), count(jdbc, "items"),
+                count(jdbc, "bookings"), count(jdbc, "comments"));
+    }
+
+    private static long count(JdbcTemplate jdbc, String table) {
+        Long count = jdbc.queryForObject("select count(*) from " + table, Long.class);
+        return count == null ? 0 : count;
+    }
+}
@@ -0,0 +1,235 @@
+package ru.practicum.shareit.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.service.BookingAvailabilityEngine;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
+import ru.practicum.shareit.item.search.ItemSuggestIndex;
+import ru.practicum.shareit.item.service.ItemBookingSummaryReconciler;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Synthetic data of a load test. Owners and items are drawn from Zipf distributions, so a few owners hold
+ * most items, a few items get most bookings and comments, and request targets follow the same skew.
+ * Future bookings of an item never overlap, past bookings are mostly completed.
+ */
+@Slf4j
+final class LoadTestData {
+    static final String[] WORDS = {
+        "drill", "ladder", "tent", "bicycle", "kayak", "camera", "projector", "saw", "tripod", "grill",
+        "speaker", "scooter", "drone", "hammer", "sander", "mixer", "jack", "compressor", "lantern", "stroller"
+    };
+    private static final double OWNER_SKEW = 1.1;
+    private static final double BOOKING_SKEW = 0.8;
+    private static final double COMMENT_SKEW = 1.2;
+    private static final double FUTURE_SHARE = 0.15;
+    private static final int HISTORY_DAYS = 730;
+    private static final int SEQUENCE_ALLOCATION_SIZE = 50;
+    private static final int BATCH_SIZE = 1000;
+    private static final int COMMENT_AUTHORS = 10000;
+
+    private final long[] itemOwners;
+    private final ZipfSampler owners;
+    private final ZipfSampler popularItems;
+    private final List<long[]> commentAuthors;
+    private final int users;
+
+    private LoadTestData(int users, long[] itemOwners, List<long[]> commentAuthors) {
+        this.users = users;
+        this.itemOwners = itemOwners;
+        this.owners = new ZipfSampler(users, OWNER_SKEW);
+        this.popularItems = new ZipfSampler(itemOwners.length, BOOKING_SKEW);
+        this.commentAuthors = commentAuthors;
+    }
+
+    /**
+     * Seeds an empty database or reuses the data of a previous run, then loads what request targets need
+     */
+    static LoadTestData prepare(ConfigurableApplicationContext context, LoadTestSettings settings) {
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+        Long existing = jdbc.queryForObject("select count(*) from users", Long.class);
+        if (existing == null || existing == 0) {
+            long started = System.nanoTime();
+            seed(jdbc, settings);
+            context.getBean(BookingAvailabilityEngine.class).rebuild();
+            context.getBean(ItemSearchIndex.class).rebuild();
+            context.getBean(ItemSuggestIndex.class).rebuild();
+            context.getBean(ItemBookingSummaryReconciler.class).reconcile();
+            log.info("LoadTestData/prepare: seeded in {} s", (System.nanoTime() - started) / 1_000_000_000);
+        } else {
+            log.info("LoadTestData/prepare: reusing {} users of the existing database", existing);
+        }
+
+        Integer users = jdbc.queryForObject("select count(*) from users", Integer.class);
+        long[] itemOwners = jdbc.query("select owner_id from items order by item_id",
+                        (rs, row) -> rs.getLong(1))
+                .stream()
+                .mapToLong(Long::longValue)
+                .toArray();
+        List<long[]> commentAuthors = jdbc.query("select item_id, booker_id from bookings " +
+                        "where status in (?, ?) and end_date < ? order by booking_id limit ?",
+                (rs, row) -> new long[]{rs.getLong(1), rs.getLong(2)},
+                BookingStatus.APPROVED.name(), BookingStatus.COMPLETED.name(), LocalDateTime.now(), COMMENT_AUTHORS);
+        return new LoadTestData(users == null ? 0 : users, itemOwners, commentAuthors);
+    }
+
+    long randomUser(SplittableRandom random) {
+        return random.nextLong(users) + 1;
+    }
+
+    /**
+     * Owner drawn by the number of items, so owners of large catalogues get most requests
+     */
+    long randomOwner(SplittableRandom random) {
+        return owners.sample(random) + 1;
+    }
+
+    long randomItem(SplittableRandom random) {
+        return popularItems.sample(random) + 1;
+    }
+
+    /**
+     * Any user except the owner of the item
+     */
+    long randomBooker(SplittableRandom random, long itemId) {
+        long booker = randomUser(random);
+        return booker == itemOwners[(int) (itemId - 1)] ? booker % users + 1 : booker;
+    }
+
+    int users() {
+        return users;
+    }
+
+    int items() {
+        return itemOwners.length;
+    }
+
+    /**
+     * Item and booker of a finished booking, the booker may comment the item
+     */
+    long[] randomCommentAuthor(SplittableRandom random) {
+        return commentAuthors.isEmpty() ? null : commentAuthors.get(random.nextInt(commentAuthors.size()));
+    }
+
+    static String word(long row) {
+        return WORDS[(int) (row % WORDS.length)];
+    }
+
+    private static void seed(JdbcTemplate jdbc, LoadTestSettings settings) {
+        SplittableRandom random = new SplittableRandom(settings.randomSeed());
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS);
+        int users = settings.users();
+        int items = settings.items();
+        ZipfSampler owners = new ZipfSampler(users, OWNER_SKEW);
+        ZipfSampler bookedItems = new ZipfSampler(items, BOOKING_SKEW);
+        ZipfSampler commentedItems = new ZipfSampler(items, COMMENT_SKEW);
+        long[] itemOwners = new long[items];
+        long[] nextFreeHour = new long[items];
+        long horizonHours = 365L * 24;
+
+        batch(jdbc, "insert into users (user_id, name, email) values (?, ?, ?)", users, (ps, row) -> {
+            ps.setLong(1, row + 1);
+            ps.setString(2, "user " + (row + 1));
+            ps.setString(3, "user" + (row + 1) + "@example.com");
+        });
+        batch(jdbc, "insert into items (item_id, name, description, available, owner_id) values (?, ?, ?, ?, ?)",
+                items, (ps, row) -> {
+                itemOwners[(int) row] = owners.sample(random) + 1;
+                nextFreeHour[(int) row] = 24 + random.nextInt(72);
+                ps.setLong(1, row + 1);
+                ps.setString(2, word(random.nextInt(WORDS.length)) + " " + word(random.nextInt(WORDS.length)) + " " + (row + 1));
+                ps.setString(3, "good " + word(random.nextInt(WORDS.length)) + " for " + word(random.nextInt(WORDS.length)));
+                ps.setBoolean(4, random.nextInt(10) != 0);
+                ps.setLong(5, itemOwners[(int) row]);
+            });
+        batch(jdbc, "insert into bookings (booking_id, start_date, end_date, item_id, booker_id, status) " +
+                "values (?, ?, ?, ?, ?, ?)", settings.bookings(), (ps, row) -> {
+                int item = bookedItems.sample(random);
+                long booker = random.nextLong(users) + 1;
+                if (booker == itemOwners[item]) {
+                    booker = booker % users + 1;
+                }
+                long durationHours = 1 + random.nextInt(72);
+                LocalDateTime start;
+                BookingStatus status;
+                if (random.nextDouble() < FUTURE_SHARE && nextFreeHour[item] + durationHours < horizonHours) {
+                    start = now.plusHours(nextFreeHour[item]);
+                    nextFreeHour[item] += durationHours + random.nextInt(48);
+                    status = random.nextInt(10) < 3 ? BookingStatus.WAITING : BookingStatus.APPROVED;
+                } else {
+                    start = now.minusHours(durationHours + random.nextLong(HISTORY_DAYS * 24L));
+                    status = pastStatus(random.nextInt(100));
+                }
+                ps.setLong(1, row + 1);
+                ps.setObject(2, start);
+                ps.setObject(3, start.plusHours(durationHours));
+                ps.setLong(4, item + 1);
+                ps.setLong(5, booker);
+                ps.setString(6, status.name());
+            });
+        batch(jdbc, "insert into comments (comment_id, text, item_id, author_id, create_date) values (?, ?, ?, ?, ?)",
+                settings.comments(), (ps, row) -> {
+                ps.setLong(1, row + 1);
+                ps.setString(2, "nice " + word(random.nextInt(WORDS.length)));
+                ps.setLong(3, commentedItems.sample(random) + 1);
+                ps.setLong(4, random.nextLong(users) + 1);
+                ps.setObject(5, now.minusHours(random.nextLong(HISTORY_DAYS * 24L)));
+            });
+        restartSequence(jdbc, "items_seq", items);
+        restartSequence(jdbc, "bookings_seq", settings.bookings());
+        restartSequence(jdbc, "comments_seq", settings.comments());
+    }
+
+    /**
+     * Completed mostly, some rejected or expired and a few approved ones the lifecycle sweeper has not reached yet
+     */
+    private static BookingStatus pastStatus(int percent) {
+        if (percent < 75) {
+            return BookingStatus.COMPLETED;
+        } else if (percent < 85) {
+            return BookingStatus.REJECTED;
+        } else if (percent < 95) {
+            return BookingStatus.EXPIRED;
+        }
+        return BookingStatus.APPROVED;
+    }
+
+    /**
+     * Moves a pooled sequence past explicitly inserted ids, the first pool starts allocation size below the value
+     */
+    private static void restartSequence(JdbcTemplate jdbc, String sequence, long rows) {
+        jdbc.execute("alter sequence " + sequence + " restart with " + (rows + SEQUENCE_ALLOCATION_SIZE + 1));
+    }
+
+    private static void batch(JdbcTemplate jdbc, String sql, long rows, RowWriter writer) {
+        for (long first = 0; first < rows; first += BATCH_SIZE) {
+            long offset = first;
+            int size = (int) Math.min(BATCH_SIZE, rows - first);
+            jdbc.batchUpdate(sql, new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    writer.write(ps, offset + i);
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return size;
+                }
+            });
+        }
+    }
+
+    @FunctionalInterface
+    private interface RowWriter {
+        void write(PreparedStatement ps, long row) throws SQLException;
+    }
+}
@@ -0,0 +1,37 @@
+package ru.practicum.shareit.loadtest;
+
+import java.util.List;
+
+/**
+ * Result of a load test run written as JSON, latencies are in milliseconds
+ * from the planned arrival of a request to its response
+ */
+record LoadTestReport(String startedAt,
+                      String threads,
+                      int targetRate,
+                      long warmupSeconds,
+                      long durationSeconds,
+                      Data data,
+                      List<EndpointReport> endpoints) {
+
+    record Data(long users, long items, long bookings, long comments) {
+    }
+
+    /**
+     * Responses by status class: ok is 2xx and 3xx, failed means no response at all,
+     * dropped requests were not sent because maxInFlight requests were waiting
+     */
+    record EndpointReport(String endpoint,
+                          long requests,
+                          double throughput,
+                          long ok,
+                          long clientErrors,
+                          long serverErrors,
+                          long failed,
+                          long dropped,
+                          double p50,
+                          double p99,
+                          double p999,
+                          double max) {
+    }
+}
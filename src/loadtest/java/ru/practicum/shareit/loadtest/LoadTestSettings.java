@@ -0,0 +1,66 @@
+package ru.practicum.shareit.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Settings of a load test run given as name=value arguments, arguments starting with -- go to the application
+ */
+record LoadTestSettings(int users,
+                        int items,
+                        long bookings,
+                        long comments,
+                        long randomSeed,
+                        int rate,
+                        Duration warmup,
+                        Duration duration,
+                        int maxInFlight,
+                        boolean virtualThreads,
+                        boolean fresh,
+                        Path database,
+                        Path report,
+                        List<String> applicationArgs) {
+    private static final Set<String> NAMES = Set.of("users", "items", "bookings", "comments", "seed", "rate",
+            "warmup", "duration", "maxInFlight", "virtualThreads", "fresh", "database", "report");
+
+    static LoadTestSettings parse(String... args) {
+        Map<String, String> values = new HashMap<>();
+        List<String> applicationArgs = new ArrayList<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (arg.startsWith("--")) {
+                applicationArgs.add(arg);
+            } else if (separator > 0) {
+                values.put(arg.substring(0, separator), arg.substring(separator + 1));
+            } else {
+                throw new IllegalArgumentException("Expected name=value or --application.property=value: " + arg);
+            }
+        }
+        values.keySet().stream()
+                .filter(name -> !NAMES.contains(name))
+                .findAny()
+                .ifPresent(name -> {
+                    throw new IllegalArgumentException("Unknown setting " + name + ", known settings: " + NAMES);
+                });
+        return new LoadTestSettings(
+                Integer.parseInt(values.getOrDefault("users", "20000")),
+                Integer.parseInt(values.getOrDefault("items", "200000")),
+                Long.parseLong(values.getOrDefault("bookings", "2000000")),
+                Long.parseLong(values.getOrDefault("comments", "500000")),
+                Long.parseLong(values.getOrDefault("seed", "42")),
+                Integer.parseInt(values.getOrDefault("rate", "500")),
+                Duration.parse(values.getOrDefault("warmup", "PT30S")),
+                Duration.parse(values.getOrDefault("duration", "PT2M")),
+                Integer.parseInt(values.getOrDefault("maxInFlight", "10000")),
+                Boolean.parseBoolean(values.getOrDefault("virtualThreads", "false")),
+                Boolean.parseBoolean(values.getOrDefault("fresh", "false")),
+                Path.of(values.getOrDefault("database", "target/loadtest/shareit")).toAbsolutePath(),
+                Path.of(values.getOrDefault("report", "target/loadtest/report.json")).toAbsolutePath(),
+                List.copyOf(applicationArgs));
+    }
+}
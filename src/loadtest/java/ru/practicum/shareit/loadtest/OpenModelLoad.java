@@ -0,0 +1,239 @@
+package ru.practicum.shareit.loadtest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import ru.practicum.shareit.booking.dto.BookingRequestDto;
+import ru.practicum.shareit.booking.model.BookingState;
+import ru.practicum.shareit.item.dto.CommentRequestDto;
+
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model load generator: requests arrive as a Poisson process at the target rate whatever the response
+ * times are. Latency is taken from the planned arrival, so a stalled server shows up in the percentiles
+ * instead of slowing the generator down.
+ */
+@Slf4j
+final class OpenModelLoad {
+    private static final String USER_HEADER = "X-Sharer-User-Id";
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final Duration DRAIN_TIMEOUT = Duration.ofSeconds(60);
+    private static final int PAGE_SIZE = 20;
+    private static final long FAR_FUTURE_HOURS = 10L * 365 * 24;
+
+    private final URI base;
+    private final LoadTestData data;
+    private final ObjectMapper objectMapper;
+    private final LoadTestSettings settings;
+    private final HttpClient client;
+    private final Semaphore inFlight;
+    private final SplittableRandom random;
+    private final Map<Endpoint, Stats> stats = new EnumMap<>(Endpoint.class);
+
+    OpenModelLoad(URI base, LoadTestData data, ObjectMapper objectMapper, LoadTestSettings settings) {
+        this.base = base;
+        this.data = data;
+        this.objectMapper = objectMapper;
+        this.settings = settings;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        this.inFlight = new Semaphore(settings.maxInFlight());
+        this.random = new SplittableRandom(settings.randomSeed());
+        for (Endpoint endpoint : Endpoint.values()) {
+            stats.put(endpoint, new Stats());
+        }
+    }
+
+    /**
+     * Sends requests for the warmup and the measured duration, only requests planned after the warmup are counted
+     */
+    List<LoadTestReport.EndpointReport> run() throws InterruptedException {
+        long warmupNanos = settings.warmup().toNanos();
+        long totalNanos = warmupNanos + settings.duration().toNanos();
+        double meanGapNanos = 1_000_000_000.0 / settings.rate();
+        long start = System.nanoTime();
+        long planned = start;
+        log.info("OpenModelLoad/run: {} requests per second for {} after {} of warmup",
+                settings.rate(), settings.duration(), settings.warmup());
+        while (true) {
+            planned += (long) (-Math.log(1 - random.nextDouble()) * meanGapNanos);
+            if (planned - start >= totalNanos) {
+                break;
+            }
+            long wait = planned - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            boolean measured = planned - start >= warmupNanos;
+            Endpoint endpoint = Endpoint.pick(random.nextInt(Endpoint.TOTAL_WEIGHT));
+            Stats endpointStats = measured ? stats.get(endpoint) : null;
+            HttpRequest request = request(endpoint);
+            if (!inFlight.tryAcquire()) {
+                if (measured) {
+                    endpointStats.dropped.increment();
+                }
+                continue;
+            }
+            long plannedAt = planned;
+            client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, e) -> {
+                        inFlight.release();
+                        if (measured) {
+                            endpointStats.record(e == null ? response.statusCode() : 0, System.nanoTime() - plannedAt);
+                        }
+                    });
+        }
+        if (!inFlight.tryAcquire(settings.maxInFlight(), DRAIN_TIMEOUT.toSeconds(), TimeUnit.SECONDS)) {
+            log.warn("OpenModelLoad/run: {} requests still running after {}",
+                    settings.maxInFlight() - inFlight.availablePermits(), DRAIN_TIMEOUT);
+        }
+        return report();
+    }
+
+    private List<LoadTestReport.EndpointReport> report() {
+        double seconds = settings.duration().toMillis() / 1000.0;
+        List<LoadTestReport.EndpointReport> reports = new ArrayList<>();
+        Stats total = new Stats();
+        Histogram totalLatency = new Histogram(3);
+        stats.forEach((endpoint, endpointStats) -> {
+            Histogram latency = endpointStats.latency.getIntervalHistogram();
+            reports.add(endpointStats.report(endpoint.route, latency, seconds));
+            totalLatency.add(latency);
+            total.add(endpointStats);
+        });
+        reports.add(total.report("ALL", totalLatency, seconds));
+        return reports;
+    }
+
+    private HttpRequest request(Endpoint endpoint) {
+        return switch (endpoint) {
+            case GET_ITEM -> get("/items/" + data.randomItem(random), data.randomUser(random));
+            case GET_OWNER_ITEMS -> get("/items", data.randomOwner(random));
+            case SEARCH_ITEMS -> get("/items/search?from=0&size=" + PAGE_SIZE + "&text="
+                    + LoadTestData.word(random.nextInt(LoadTestData.WORDS.length)), data.randomUser(random));
+            case GET_BOOKINGS -> get("/bookings?size=" + PAGE_SIZE + "&state=" + randomState(), data.randomUser(random));
+            case GET_OWNER_BOOKINGS -> get("/bookings/owner?size=" + PAGE_SIZE + "&state=" + randomState(),
+                    data.randomOwner(random));
+            case ADD_BOOKING -> {
+                long itemId = data.randomItem(random);
+                // far and random periods, so most new bookings do not collide with each other
+                LocalDateTime start = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS)
+                        .plusDays(400)
+                        .plusHours(random.nextLong(FAR_FUTURE_HOURS));
+                yield post("/bookings", data.randomBooker(random, itemId),
+                        new BookingRequestDto(itemId, start, start.plusHours(1 + random.nextInt(72))));
+            }
+            case ADD_COMMENT -> {
+                long[] author = data.randomCommentAuthor(random);
+                yield author == null
+                        ? get("/items/" + data.randomItem(random), data.randomUser(random))
+                        : post("/items/" + author[0] + "/comment", author[1],
+                        new CommentRequestDto("nice " + LoadTestData.word(random.nextInt(LoadTestData.WORDS.length))));
+            }
+        };
+    }
+
+    private String randomState() {
+        BookingState[] states = BookingState.values();
+        return states[random.nextInt(states.length)].name();
+    }
+
+    private HttpRequest get(String path, long userId) {
+        return builder(path, userId).GET().build();
+    }
+
+    private HttpRequest post(String path, long userId, Object body) {
+        try {
+            return builder(path, userId)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body)))
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private HttpRequest.Builder builder(String path, long userId) {
+        return HttpRequest.newBuilder(base.resolve(path))
+                .timeout(REQUEST_TIMEOUT)
+                .header(USER_HEADER, Long.toString(userId));
+    }
+
+    private static final class Stats {
+        final Recorder latency = new Recorder(3);
+        final LongAdder ok = new LongAdder();
+        final LongAdder clientErrors = new LongAdder();
+        final LongAdder serverErrors = new LongAdder();
+        final LongAdder failed = new LongAdder();
+        final LongAdder dropped = new LongAdder();
+
+        /**
+         * Records a response, status 0 means the request failed without one
+         */
+        void record(int status, long latencyNanos) {
+            if (status == 0) {
+                failed.increment();
+                return;
+            }
+            latency.recordValue(TimeUnit.NANOSECONDS.toMicros(latencyNanos));
+            if (status >= 500) {
+                serverErrors.increment();
+            } else if (status >= 400) {
+                clientErrors.increment();
+            } else {
+                ok.increment();
+            }
+        }
+
+        void add(Stats other) {
+            ok.add(other.ok.sum());
+            clientErrors.add(other.clientErrors.sum());
+            serverErrors.add(other.serverErrors.sum());
+            failed.add(other.failed.sum());
+            dropped.add(other.dropped.sum());
+        }
+
+        LoadTestReport.EndpointReport report(String endpoint, Histogram latency, double seconds) {
+            long responses = ok.sum() + clientErrors.sum() + serverErrors.sum();
+            return new LoadTestReport.EndpointReport(endpoint,
+                    responses + failed.sum() + dropped.sum(),
+                    responses / seconds,
+                    ok.sum(),
+                    clientErrors.sum(),
+                    serverErrors.sum(),
+                    failed.sum(),
+                    dropped.sum(),
+                    millis(latency.getValueAtPercentile(50)),
+                    millis(latency.getValueAtPercentile(99)),
+                    millis(latency.getValueAtPercentile(99.9)),
+                    millis(latency.getMaxValue()));
+        }
+
+        private static double millis(long micros) {
+            return micros / 1000.0;
+        }
+    }
+}
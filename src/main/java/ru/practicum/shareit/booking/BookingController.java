@@ -1,15 +1,30 @@
 package ru.practicum.shareit.booking;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
+import ru.practicum.shareit.booking.dto.BookingPageDto;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.dto.BookingStateCountsDto;
+import ru.practicum.shareit.booking.service.BookingExportService;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.booking.model.BookingFilter;
 import ru.practicum.shareit.booking.model.BookingState;
+import ru.practicum.shareit.core.pagination.KeysetCursor;
 
 import java.util.Collection;
+import java.util.List;
 
 /**
  * TODO Sprint add-bookings.
@@ -18,7 +33,10 @@ import java.util.Collection;
 @RequestMapping(path = "/bookings")
 @RequiredArgsConstructor
 public class BookingController {
+    private static final String NDJSON = MediaType.APPLICATION_NDJSON_VALUE;
+
     private final BookingService bookingService;
+    private final BookingExportService bookingExportService;
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
@@ -27,6 +45,12 @@ public class BookingController {
         return bookingService.add(bookingRequestDto, userId);
     }
 
+    @PostMapping("/batch")
+    public List<BookingBatchResultDto> addAll(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                              @RequestBody @NotEmpty @Size(max = 1000) List<BookingRequestDto> bookings) {
+        return bookingService.addAll(bookings, userId);
+    }
+
     @PatchMapping("/{bookingId}")
     public BookingResponseDto setStatus(@RequestHeader("X-Sharer-User-Id") Long userId,
                                         @PathVariable Long bookingId,
@@ -35,20 +59,64 @@ public class BookingController {
     }
 
     @GetMapping
-    public Collection<BookingResponseDto> getAll(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                                 @RequestParam(defaultValue = "ALL") BookingState state) {
-        return bookingService.getByUserAndState(userId, state);
+    public ResponseEntity<Collection<BookingResponseDto>> getAll(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                                 @RequestParam(defaultValue = "ALL") BookingState state,
+                                                                 @RequestParam(required = false) String cursor,
+                                                                 @RequestParam(required = false) @Positive @Max(1000) Integer size) {
+        return toResponse(bookingService.getByUserAndState(userId, state, cursor, size));
     }
 
     @GetMapping("/owner")
-    public Collection<BookingResponseDto> getAllByOwner(@RequestHeader("X-Sharer-User-Id") Long userId,
+    public ResponseEntity<Collection<BookingResponseDto>> getAllByOwner(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                                        @RequestParam(defaultValue = "ALL") BookingState state,
+                                                                        @RequestParam(required = false) String cursor,
+                                                                        @RequestParam(required = false) @Positive @Max(1000) Integer size) {
+        return toResponse(bookingService.getByOwnerAndState(userId, state, cursor, size));
+    }
+
+    @GetMapping("/summary")
+    public BookingStateCountsDto getSummary(@RequestHeader("X-Sharer-User-Id") Long userId) {
+        return bookingService.getStateCountsByUser(userId);
+    }
+
+    @GetMapping("/owner/summary")
+    public BookingStateCountsDto getOwnerSummary(@RequestHeader("X-Sharer-User-Id") Long userId) {
+        return bookingService.getStateCountsByOwner(userId);
+    }
+
+    @GetMapping(path = "/export", produces = NDJSON)
+    public ResponseEntity<StreamingResponseBody> export(@RequestHeader("X-Sharer-User-Id") Long userId,
                                                         @RequestParam(defaultValue = "ALL") BookingState state) {
-        return bookingService.getByOwnerAndState(userId, state);
+        BookingFilter filter = bookingExportService.filterByUser(userId, state);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(out -> bookingExportService.exportByUser(userId, filter, out));
+    }
+
+    @GetMapping(path = "/owner/export", produces = NDJSON)
+    public ResponseEntity<StreamingResponseBody> exportByOwner(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                               @RequestParam(defaultValue = "ALL") BookingState state) {
+        BookingFilter filter = bookingExportService.filterByOwner(userId, state);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(out -> bookingExportService.exportByOwner(userId, filter, out));
     }
 
     @GetMapping("/{bookingId}")
     public BookingResponseDto getById(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                      @PathVariable Long bookingId) {
+                                      @PathVariable Long bookingId,
+                                      WebRequest request) {
+        if (request.checkNotModified(bookingService.getBookingETag(bookingId, userId))) {
+            return null;
+        }
         return bookingService.getById(bookingId, userId);
     }
+
+    private ResponseEntity<Collection<BookingResponseDto>> toResponse(BookingPageDto page) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(KeysetCursor.NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getBookings());
+    }
 }
@@ -0,0 +1,30 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * Result of one element of a batch booking request: the created booking or the reason of failure
+ */
+
+@Data
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingBatchResultDto {
+    Integer index;
+    Boolean success;
+    BookingResponseDto booking;
+    String error;
+
+    public static BookingBatchResultDto success(int index, BookingResponseDto booking) {
+        return new BookingBatchResultDto(index, true, booking, null);
+    }
+
+    public static BookingBatchResultDto failure(int index, String error) {
+        return new BookingBatchResultDto(index, false, null, error);
+    }
+}
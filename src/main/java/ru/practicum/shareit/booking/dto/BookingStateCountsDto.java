@@ -0,0 +1,23 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * Number of bookings in every BookingState, all counted against the same instant
+ */
+@Data
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingStateCountsDto {
+    Long all;
+    Long current;
+    Long past;
+    Long future;
+    Long waiting;
+    Long rejected;
+}
@@ -0,0 +1,36 @@
+package ru.practicum.shareit.booking.event;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+import lombok.experimental.FieldDefaults;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.core.event.DomainEvent;
+
+/**
+ * Booking created or its status changed
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class BookingChangedEvent implements DomainEvent {
+    Long bookingId;
+    Long itemId;
+    Long bookerId;
+    Long ownerId;
+    BookingStatus status;
+    boolean created;
+
+    public static BookingChangedEvent created(Booking booking, Long ownerId) {
+        return new BookingChangedEvent(booking.getId(), booking.getItem().getId(), booking.getBooker().getId(),
+                ownerId, booking.getStatus(), true);
+    }
+
+    public static BookingChangedEvent statusChanged(Booking booking, Long ownerId) {
+        return new BookingChangedEvent(booking.getId(), booking.getItem().getId(), booking.getBooker().getId(),
+                ownerId, booking.getStatus(), false);
+    }
+}
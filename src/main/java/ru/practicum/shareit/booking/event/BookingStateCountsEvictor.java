@@ -0,0 +1,33 @@
+package ru.practicum.shareit.booking.event;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.core.config.CacheConfig;
+import ru.practicum.shareit.core.event.DomainEventHandler;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Evicts cached booking state counts of the bookers and owners of changed bookings
+ */
+@Component
+@RequiredArgsConstructor
+public class BookingStateCountsEvictor implements DomainEventHandler<BookingChangedEvent> {
+    private final CacheManager cacheManager;
+
+    @Override
+    public Class<BookingChangedEvent> eventType() {
+        return BookingChangedEvent.class;
+    }
+
+    @Override
+    public void handle(List<BookingChangedEvent> events) {
+        Cache bookerCounts = Objects.requireNonNull(cacheManager.getCache(CacheConfig.BOOKER_STATE_COUNTS));
+        Cache ownerCounts = Objects.requireNonNull(cacheManager.getCache(CacheConfig.OWNER_STATE_COUNTS));
+        events.stream().map(BookingChangedEvent::getBookerId).distinct().forEach(bookerCounts::evict);
+        events.stream().map(BookingChangedEvent::getOwnerId).distinct().forEach(ownerCounts::evict);
+    }
+}
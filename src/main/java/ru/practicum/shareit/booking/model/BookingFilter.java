@@ -0,0 +1,40 @@
+package ru.practicum.shareit.booking.model;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Bounds of a booking state as plain query parameters: open bounds are replaced by sentinel dates
+ * and states without a status condition accept every status, so one query covers all states.
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class BookingFilter {
+    public static final LocalDateTime MIN_DATE = LocalDateTime.of(1, 1, 1, 0, 0);
+    public static final LocalDateTime MAX_DATE = LocalDateTime.of(9999, 12, 31, 0, 0);
+
+    LocalDateTime startAfter;
+    LocalDateTime startBefore;
+    LocalDateTime endAfter;
+    LocalDateTime endBefore;
+    Set<BookingStatus> statuses;
+
+    public static BookingFilter of(BookingState state, LocalDateTime now) {
+        Set<BookingStatus> all = EnumSet.allOf(BookingStatus.class);
+        return switch (state) {
+            case ALL -> new BookingFilter(MIN_DATE, MAX_DATE, MIN_DATE, MAX_DATE, all);
+            case CURRENT -> new BookingFilter(MIN_DATE, now, now, MAX_DATE, all);
+            case PAST -> new BookingFilter(MIN_DATE, MAX_DATE, MIN_DATE, now, all);
+            case FUTURE -> new BookingFilter(now, MAX_DATE, MIN_DATE, MAX_DATE, all);
+            case WAITING -> new BookingFilter(MIN_DATE, MAX_DATE, MIN_DATE, MAX_DATE, EnumSet.of(BookingStatus.WAITING));
+            case REJECTED -> new BookingFilter(MIN_DATE, MAX_DATE, MIN_DATE, MAX_DATE, EnumSet.of(BookingStatus.REJECTED));
+        };
+    }
+}
@@ -0,0 +1,21 @@
+package ru.practicum.shareit.booking.model;
+
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.time.LocalDateTime;
+
+/**
+ * Period of a booking occupying an item
+ */
+@Getter
+@ToString
+@EqualsAndHashCode
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@AllArgsConstructor
+public class BookingInterval {
+    Long bookingId;
+    Long itemId;
+    LocalDateTime start;
+    LocalDateTime end;
+}
@@ -0,0 +1,18 @@
+package ru.practicum.shareit.booking.model;
+
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * Booking with ids of its item, booker and item owner
+ */
+@Getter
+@ToString
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@AllArgsConstructor
+public class BookingParties {
+    Long bookingId;
+    Long itemId;
+    Long bookerId;
+    Long ownerId;
+}
@@ -3,5 +3,13 @@ package ru.practicum.shareit.booking.model;
 public enum BookingStatus {
     WAITING,
     APPROVED,
-    REJECTED
+    REJECTED,
+    /**
+     * Not approved or rejected before its start, set by BookingLifecycleSweeper
+     */
+    EXPIRED,
+    /**
+     * Approved and ended, set by BookingLifecycleSweeper
+     */
+    COMPLETED
 }
@@ -0,0 +1,24 @@
+package ru.practicum.shareit.booking.model;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * Versions of a booking and of the item and booker included in its response, with the ids needed for access checks
+ */
+@Getter
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class BookingVersion {
+    Long bookerId;
+    Long ownerId;
+    Long version;
+    Long itemVersion;
+    Long bookerVersion;
+
+    public String etag() {
+        return "booking-" + version + "-" + itemVersion + "-" + bookerVersion;
+    }
+}
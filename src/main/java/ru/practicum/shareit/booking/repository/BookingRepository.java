@@ -1,54 +1,191 @@
 package ru.practicum.shareit.booking.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import ru.practicum.shareit.booking.dto.BookingStateCountsDto;
 import ru.practicum.shareit.booking.model.Booking;
-import ru.practicum.shareit.booking.model.BookingDates;
+import ru.practicum.shareit.booking.model.BookingInterval;
+import ru.practicum.shareit.booking.model.BookingParties;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.model.BookingVersion;
+import ru.practicum.shareit.item.model.ItemBookingCount;
 
 import java.time.LocalDateTime;
 import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface BookingRepository extends JpaRepository<Booking, Long> {
 
-    Collection<Booking> findByBookerId(Long bookerId, Sort sort);
+    @Override
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
+    Optional<Booking> findById(Long bookingId);
 
-    Collection<Booking> findByBookerIdAndEndDateBefore(Long bookerId, LocalDateTime endDate, Sort sort);
+    @Query(" select new ru.practicum.shareit.booking.model.BookingVersion(b.booker.id, i.owner.id, b.version, i.version, u.version) " +
+            " from Booking b " +
+            " join b.item i " +
+            " join b.booker u " +
+            "where b.id = ?1")
+    Optional<BookingVersion> findVersionById(Long bookingId);
+
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
+    Window<Booking> findByBookerId(Long bookerId, ScrollPosition position, Sort sort, Limit limit);
 
-    Collection<Booking> findByBookerIdAndStartDateAfter(Long bookerId, LocalDateTime startDate, Sort sort);
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
+    Window<Booking> findByBookerIdAndEndDateBefore(Long bookerId, LocalDateTime endDate, ScrollPosition position, Sort sort, Limit limit);
 
-    Collection<Booking> findByBookerIdAndStartDateBeforeAndEndDateAfter(Long bookerId, LocalDateTime startDate, LocalDateTime endDate, Sort sort);
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
+    Window<Booking> findByBookerIdAndStartDateAfter(Long bookerId, LocalDateTime startDate, ScrollPosition position, Sort sort, Limit limit);
 
-    Collection<Booking> findByBookerIdAndStatus(Long bookerId, BookingStatus status, Sort sort);
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
+    Window<Booking> findByBookerIdAndStartDateBeforeAndEndDateAfter(Long bookerId, LocalDateTime startDate, LocalDateTime endDate, ScrollPosition position, Sort sort, Limit limit);
 
-    Collection<Booking> findByItemIdAndBookerIdAndEndDateBeforeAndStatus(Long itemId, Long bookerId, LocalDateTime endDate, BookingStatus status);
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
+    Window<Booking> findByBookerIdAndStatus(Long bookerId, BookingStatus status, ScrollPosition position, Sort sort, Limit limit);
 
-    Collection<Booking> findBookingByItem_OwnerId(Long ownerId, Sort sort);
+    Collection<Booking> findByItemIdAndBookerIdAndEndDateBeforeAndStatusIn(Long itemId, Long bookerId, LocalDateTime endDate, Collection<BookingStatus> statuses);
 
-    Collection<Booking> findBookingByEndDateBeforeAndItem_OwnerId(LocalDateTime endDate, Long ownerId, Sort sort);
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
+    Window<Booking> findBookingByItem_OwnerId(Long ownerId, ScrollPosition position, Sort sort, Limit limit);
 
-    Collection<Booking> findBookingByStartDateAfterAndItem_OwnerId(LocalDateTime startDate, Long ownerId, Sort sort);
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
+    Window<Booking> findBookingByEndDateBeforeAndItem_OwnerId(LocalDateTime endDate, Long ownerId, ScrollPosition position, Sort sort, Limit limit);
 
-    Collection<Booking> findBookingByStartDateBeforeAndEndDateAfterAndItem_OwnerId(LocalDateTime startDate, LocalDateTime endDate, Long ownerId, Sort sort);
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
+    Window<Booking> findBookingByStartDateAfterAndItem_OwnerId(LocalDateTime startDate, Long ownerId, ScrollPosition position, Sort sort, Limit limit);
 
-    Collection<Booking> findBookingByStatusAndItem_OwnerId(BookingStatus status, Long ownerId, Sort sort);
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
+    Window<Booking> findBookingByStartDateBeforeAndEndDateAfterAndItem_OwnerId(LocalDateTime startDate, LocalDateTime endDate, Long ownerId, ScrollPosition position, Sort sort, Limit limit);
 
-    @Query(" select new ru.practicum.shareit.booking.model.BookingDates(i.id, MAX(b.startDate), MAX(b.endDate)) " +
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
+    Window<Booking> findBookingByStatusAndItem_OwnerId(BookingStatus status, Long ownerId, ScrollPosition position, Sort sort, Limit limit);
+
+    @Query(" select b " +
             " from Booking b " +
-            " join b.item i " +
-            " join i.owner o " +
-            "where b.startDate < ?1 " +
-            "  and o.id = ?2 " +
-            "group by i.id")
-    Collection<BookingDates> lastBookings(LocalDateTime date, Long ownerId);
+            "where b.item.id in ?1 " +
+            "  and b.status not in ?3 " +
+            "  and b.startDate = (select max(l.startDate) " +
+            "                       from Booking l " +
+            "                      where l.item.id = b.item.id " +
+            "                        and l.status not in ?3 " +
+            "                        and l.startDate < ?2)")
+    Collection<Booking> findLastBookings(Collection<Long> itemIds, LocalDateTime date, Collection<BookingStatus> excludedStatuses);
+
+    @Query(" select b " +
+            " from Booking b " +
+            "where b.item.id in ?1 " +
+            "  and b.status not in ?3 " +
+            "  and b.startDate = (select min(n.startDate) " +
+            "                       from Booking n " +
+            "                      where n.item.id = b.item.id " +
+            "                        and n.status not in ?3 " +
+            "                        and n.startDate >= ?2)")
+    Collection<Booking> findNextBookings(Collection<Long> itemIds, LocalDateTime date, Collection<BookingStatus> excludedStatuses);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(" select b " +
+            " from Booking b " +
+            " join fetch b.item " +
+            " join fetch b.booker " +
+            "where b.booker.id = ?1 " +
+            "  and b.startDate > ?2 and b.startDate < ?3 " +
+            "  and b.endDate > ?4 and b.endDate < ?5 " +
+            "  and b.status in ?6 " +
+            "order by b.endDate, b.id")
+    Stream<Booking> streamByBooker(Long bookerId, LocalDateTime startAfter, LocalDateTime startBefore,
+                                   LocalDateTime endAfter, LocalDateTime endBefore, Collection<BookingStatus> statuses);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(" select b " +
+            " from Booking b " +
+            " join fetch b.item i " +
+            " join fetch b.booker " +
+            "where i.owner.id = ?1 " +
+            "  and b.startDate > ?2 and b.startDate < ?3 " +
+            "  and b.endDate > ?4 and b.endDate < ?5 " +
+            "  and b.status in ?6 " +
+            "order by b.endDate, b.id")
+    Stream<Booking> streamByOwner(Long ownerId, LocalDateTime startAfter, LocalDateTime startBefore,
+                                  LocalDateTime endAfter, LocalDateTime endBefore, Collection<BookingStatus> statuses);
+
+    @Query(" select new ru.practicum.shareit.booking.dto.BookingStateCountsDto(" +
+            "        count(b), " +
+            "        coalesce(sum(case when b.startDate < ?2 and b.endDate > ?2 then 1 else 0 end), 0), " +
+            "        coalesce(sum(case when b.endDate < ?2 then 1 else 0 end), 0), " +
+            "        coalesce(sum(case when b.startDate > ?2 then 1 else 0 end), 0), " +
+            "        coalesce(sum(case when b.status = ru.practicum.shareit.booking.model.BookingStatus.WAITING then 1 else 0 end), 0), " +
+            "        coalesce(sum(case when b.status = ru.practicum.shareit.booking.model.BookingStatus.REJECTED then 1 else 0 end), 0)) " +
+            " from Booking b " +
+            "where b.booker.id = ?1")
+    BookingStateCountsDto countStatesByBookerId(Long bookerId, LocalDateTime now);
+
+    @Query(" select new ru.practicum.shareit.booking.dto.BookingStateCountsDto(" +
+            "        count(b), " +
+            "        coalesce(sum(case when b.startDate < ?2 and b.endDate > ?2 then 1 else 0 end), 0), " +
+            "        coalesce(sum(case when b.endDate < ?2 then 1 else 0 end), 0), " +
+            "        coalesce(sum(case when b.startDate > ?2 then 1 else 0 end), 0), " +
+            "        coalesce(sum(case when b.status = ru.practicum.shareit.booking.model.BookingStatus.WAITING then 1 else 0 end), 0), " +
+            "        coalesce(sum(case when b.status = ru.practicum.shareit.booking.model.BookingStatus.REJECTED then 1 else 0 end), 0)) " +
+            " from Booking b " +
+            "where b.item.owner.id = ?1")
+    BookingStateCountsDto countStatesByOwnerId(Long ownerId, LocalDateTime now);
 
-    @Query(" select new ru.practicum.shareit.booking.model.BookingDates(i.id, MIN(b.startDate), MIN(b.endDate)) " +
+    @Query(" select new ru.practicum.shareit.booking.model.BookingInterval(b.id, b.item.id, b.startDate, b.endDate) " +
             " from Booking b " +
-            " join b.item i " +
-            " join i.owner o " +
-            "where b.startDate >= ?1 " +
-            "  and o.id = ?2 " +
-            "group by i.id")
-    Collection<BookingDates> nextBookings(LocalDateTime date, Long ownerId);
+            "where b.status in ?1 " +
+            "  and b.endDate > ?2")
+    Collection<BookingInterval> findIntervals(Collection<BookingStatus> statuses, LocalDateTime endDate);
+
+    @Query(" select new ru.practicum.shareit.item.model.ItemBookingCount(b.item.id, count(b.id)) " +
+            " from Booking b " +
+            "group by b.item.id")
+    Collection<ItemBookingCount> countByItem();
+
+    @Query(" select new ru.practicum.shareit.booking.model.BookingParties(b.id, b.item.id, b.booker.id, b.item.owner.id) " +
+            " from Booking b " +
+            "where b.status = ?1 " +
+            "  and b.startDate < ?2 " +
+            "order by b.startDate, b.id")
+    List<BookingParties> findPartiesByStatusAndStartBefore(BookingStatus status, LocalDateTime date, Limit limit);
+
+    @Query(" select new ru.practicum.shareit.booking.model.BookingParties(b.id, b.item.id, b.booker.id, b.item.owner.id) " +
+            " from Booking b " +
+            "where b.status = ?1 " +
+            "  and b.endDate < ?2 " +
+            "order by b.endDate, b.id")
+    List<BookingParties> findPartiesByStatusAndEndBefore(BookingStatus status, LocalDateTime date, Limit limit);
+
+    @Query("select min(b.startDate) from Booking b where b.status = ?1 and b.startDate < ?2")
+    LocalDateTime findOldestStartBefore(BookingStatus status, LocalDateTime date);
+
+    @Query("select min(b.endDate) from Booking b where b.status = ?1 and b.endDate < ?2")
+    LocalDateTime findOldestEndBefore(BookingStatus status, LocalDateTime date);
+
+    @Query("select b.id from Booking b where b.id in ?1 and b.status = ?2")
+    List<Long> findIdsByIdInAndStatus(Collection<Long> ids, BookingStatus status);
+
+    /**
+     * Moves the bookings still in status from to status to, bumping their versions
+     *
+     * @return number of changed bookings
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Booking b set b.status = ?3, b.version = b.version + 1 where b.id in ?1 and b.status = ?2")
+    int updateStatus(Collection<Long> ids, BookingStatus from, BookingStatus to);
 }
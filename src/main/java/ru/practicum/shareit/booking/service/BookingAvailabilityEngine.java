@@ -0,0 +1,328 @@
+package ru.practicum.shareit.booking.service;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingInterval;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.model.TimeWindow;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.core.exception.DataConflictException;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Keeps WAITING and APPROVED bookings of every item in a start-ordered timeline and serializes
+ * reservations of the same item with a striped lock, so overlapping bookings can not be created.
+ * Timelines are immutable arrays of epoch seconds replaced on every write, so availability reads take no lock.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BookingAvailabilityEngine {
+    static final Collection<BookingStatus> OCCUPYING_STATUSES = List.of(BookingStatus.WAITING, BookingStatus.APPROVED);
+    private static final int LOCK_STRIPES = 64;
+
+    private final BookingRepository bookingRepository;
+
+    private final Map<Long, ItemTimeline> timelines = new ConcurrentHashMap<>();
+    private final ReentrantLock[] locks = createLocks();
+
+    @PostConstruct
+    public void rebuild() {
+        Collection<BookingInterval> intervals = bookingRepository.findIntervals(OCCUPYING_STATUSES, LocalDateTime.now());
+        Map<Long, List<BookingInterval>> byItem = new HashMap<>();
+        intervals.forEach(interval -> byItem.computeIfAbsent(interval.getItemId(), id -> new ArrayList<>()).add(interval));
+        byItem.forEach((itemId, itemIntervals) -> withLock(itemId, () -> {
+            timeline(itemId).addAll(itemIntervals);
+            return null;
+        }));
+        log.info("BookingAvailabilityEngine/rebuild: loaded {} intervals of {} items", intervals.size(), timelines.size());
+    }
+
+    /**
+     * Checks that the period is free and stores the booking created by writer while holding the item lock.
+     * The period is released again if the surrounding transaction rolls back.
+     */
+    public Booking reserve(Long itemId, LocalDateTime start, LocalDateTime end, Supplier<Booking> writer) {
+        long startSecond = floorSecond(start);
+        long endSecond = ceilSecond(end);
+        Booking booking = withLock(itemId, () -> {
+            ItemTimeline timeline = timeline(itemId);
+            timeline.prune(floorSecond(LocalDateTime.now()));
+            if (timeline.overlaps(startSecond, endSecond)) {
+                throw new DataConflictException(
+                        String.format("Позиция с ид %s уже забронирована на указанный период", itemId));
+            }
+            Booking saved = writer.get();
+            timeline.add(saved.getId(), startSecond, endSecond);
+            return saved;
+        });
+        afterCompletion(false, () -> release(itemId, booking.getId()));
+        return booking;
+    }
+
+    /**
+     * Frees the period of the booking once the surrounding transaction commits
+     */
+    public void releaseOnCommit(Long itemId, Long bookingId) {
+        afterCompletion(true, () -> release(itemId, bookingId));
+    }
+
+    public boolean isFree(Long itemId, LocalDateTime start, LocalDateTime end) {
+        ItemTimeline timeline = timelines.get(itemId);
+        return timeline == null || !timeline.overlaps(floorSecond(start), ceilSecond(end));
+    }
+
+    /**
+     * Free periods of the item between from and to, ordered by start
+     */
+    public List<TimeWindow> getFreeWindows(Long itemId, LocalDateTime from, LocalDateTime to) {
+        long fromSecond = floorSecond(from);
+        long toSecond = ceilSecond(to);
+        ItemTimeline timeline = timelines.get(itemId);
+        if (timeline == null) {
+            return fromSecond < toSecond ? List.of(window(fromSecond, toSecond)) : List.of();
+        }
+        return timeline.freeWindows(fromSecond, toSecond);
+    }
+
+    void release(Long itemId, Long bookingId) {
+        withLock(itemId, () -> {
+            ItemTimeline timeline = timelines.get(itemId);
+            if (timeline != null) {
+                timeline.remove(bookingId);
+            }
+            return null;
+        });
+    }
+
+    private ItemTimeline timeline(Long itemId) {
+        return timelines.computeIfAbsent(itemId, id -> new ItemTimeline());
+    }
+
+    private <T> T withLock(Long itemId, Supplier<T> action) {
+        ReentrantLock lock = locks[Math.floorMod(itemId.hashCode(), LOCK_STRIPES)];
+        lock.lock();
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static void afterCompletion(boolean committed, Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            if (committed) {
+                action.run();
+            }
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if ((status == STATUS_COMMITTED) == committed) {
+                    action.run();
+                }
+            }
+        });
+    }
+
+    private static ReentrantLock[] createLocks() {
+        ReentrantLock[] locks = new ReentrantLock[LOCK_STRIPES];
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+        return locks;
+    }
+
+    /**
+     * Booking dates are local, seconds are counted as if they were UTC. Starts round down and ends round up,
+     * so a period never looks shorter than it is.
+     */
+    private static long floorSecond(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    private static long ceilSecond(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC) + (dateTime.getNano() > 0 ? 1 : 0);
+    }
+
+    private static TimeWindow window(long start, long end) {
+        return new TimeWindow(LocalDateTime.ofEpochSecond(start, 0, ZoneOffset.UTC),
+                LocalDateTime.ofEpochSecond(end, 0, ZoneOffset.UTC));
+    }
+
+    /**
+     * Periods of one item ordered by start. Reservations never overlap, but bookings loaded by rebuild may,
+     * so checks use the greatest end among the periods starting before a moment. Writes happen under the item
+     * lock and publish new arrays, readers use whichever arrays are current.
+     */
+    private static class ItemTimeline {
+        private volatile Intervals intervals = Intervals.EMPTY;
+
+        boolean overlaps(long start, long end) {
+            Intervals current = intervals;
+            int previous = current.startsBefore(end) - 1;
+            return previous >= 0 && current.maxEnds[previous] > start;
+        }
+
+        List<TimeWindow> freeWindows(long from, long to) {
+            Intervals current = intervals;
+            List<TimeWindow> windows = new ArrayList<>();
+            int i = current.endedBy(from);
+            long cursor = from;
+            for (; i < current.size() && current.starts[i] < to; i++) {
+                if (current.starts[i] > cursor) {
+                    windows.add(window(cursor, current.starts[i]));
+                }
+                cursor = Math.max(cursor, current.ends[i]);
+            }
+            if (cursor < to) {
+                windows.add(window(cursor, to));
+            }
+            return windows;
+        }
+
+        void add(long bookingId, long start, long end) {
+            Intervals current = intervals;
+            int index = current.startsBefore(start);
+            while (index < current.size() && current.starts[index] == start && current.bookingIds[index] < bookingId) {
+                index++;
+            }
+            int size = current.size();
+            long[] bookingIds = new long[size + 1];
+            long[] starts = new long[size + 1];
+            long[] ends = new long[size + 1];
+            insert(current.bookingIds, bookingIds, index, bookingId);
+            insert(current.starts, starts, index, start);
+            insert(current.ends, ends, index, end);
+            intervals = Intervals.of(bookingIds, starts, ends);
+        }
+
+        void addAll(List<BookingInterval> added) {
+            Intervals current = intervals;
+            int size = current.size() + added.size();
+            long[][] rows = new long[size][];
+            for (int i = 0; i < current.size(); i++) {
+                rows[i] = new long[]{current.bookingIds[i], current.starts[i], current.ends[i]};
+            }
+            for (int i = 0; i < added.size(); i++) {
+                BookingInterval interval = added.get(i);
+                rows[current.size() + i] = new long[]{interval.getBookingId(),
+                        floorSecond(interval.getStart()), ceilSecond(interval.getEnd())};
+            }
+            Arrays.sort(rows, Comparator.<long[]>comparingLong(row -> row[1]).thenComparingLong(row -> row[0]));
+            long[] bookingIds = new long[size];
+            long[] starts = new long[size];
+            long[] ends = new long[size];
+            for (int i = 0; i < size; i++) {
+                bookingIds[i] = rows[i][0];
+                starts[i] = rows[i][1];
+                ends[i] = rows[i][2];
+            }
+            intervals = Intervals.of(bookingIds, starts, ends);
+        }
+
+        void remove(long bookingId) {
+            Intervals current = intervals;
+            for (int i = 0; i < current.size(); i++) {
+                if (current.bookingIds[i] == bookingId) {
+                    intervals = current.without(i, i + 1);
+                    return;
+                }
+            }
+        }
+
+        void prune(long now) {
+            Intervals current = intervals;
+            int ended = 0;
+            while (ended < current.size() && current.maxEnds[ended] <= now) {
+                ended++;
+            }
+            if (ended > 0) {
+                intervals = current.without(0, ended);
+            }
+        }
+
+        private static void insert(long[] source, long[] target, int index, long value) {
+            System.arraycopy(source, 0, target, 0, index);
+            target[index] = value;
+            System.arraycopy(source, index, target, index + 1, source.length - index);
+        }
+    }
+
+    /**
+     * Parallel arrays of booking id, start and end, sorted by start. maxEnds[i] is the greatest end
+     * among the first i + 1 periods.
+     */
+    private record Intervals(long[] bookingIds, long[] starts, long[] ends, long[] maxEnds) {
+        static final Intervals EMPTY = new Intervals(new long[0], new long[0], new long[0], new long[0]);
+
+        static Intervals of(long[] bookingIds, long[] starts, long[] ends) {
+            long[] maxEnds = new long[ends.length];
+            for (int i = 0; i < ends.length; i++) {
+                maxEnds[i] = i == 0 ? ends[0] : Math.max(maxEnds[i - 1], ends[i]);
+            }
+            return new Intervals(bookingIds, starts, ends, maxEnds);
+        }
+
+        int size() {
+            return starts.length;
+        }
+
+        /**
+         * @return number of intervals starting before the second
+         */
+        int startsBefore(long second) {
+            int low = 0;
+            int high = starts.length;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (starts[middle] < second) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+
+        /**
+         * @return number of leading periods that all end at or before the second
+         */
+        int endedBy(long second) {
+            int low = 0;
+            int high = maxEnds.length;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (maxEnds[middle] <= second) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+
+        Intervals without(int from, int to) {
+            return of(cut(bookingIds, from, to), cut(starts, from, to), cut(ends, from, to));
+        }
+
+        private static long[] cut(long[] source, int from, int to) {
+            long[] target = new long[source.length - (to - from)];
+            System.arraycopy(source, 0, target, 0, from);
+            System.arraycopy(source, to, target, from, source.length - to);
+            return target;
+        }
+    }
+}
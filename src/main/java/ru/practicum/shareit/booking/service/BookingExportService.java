@@ -0,0 +1,104 @@
+package ru.practicum.shareit.booking.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingFilter;
+import ru.practicum.shareit.booking.model.BookingState;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.core.exception.NotFoundException;
+import ru.practicum.shareit.core.exception.WrongArgumentException;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Writes the whole booking history of a booker or an owner as NDJSON. Rows are read through a
+ * forward-only cursor and the persistence context is cleared every chunk, so memory does not
+ * depend on the history size.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class BookingExportService {
+    static final int CHUNK_SIZE = 500;
+
+    private final BookingRepository bookingRepository;
+    private final BookingMapper bookingMapper;
+    private final UserService userService;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Checks the booker and builds the filter, called before the response is committed so errors
+     * still reach ErrorHandler
+     */
+    public BookingFilter filterByUser(Long userId, BookingState state) {
+        if (!userService.existsUser(userId)) {
+            throw new WrongArgumentException("неверное ид пользователя");
+        }
+        return BookingFilter.of(state, LocalDateTime.now());
+    }
+
+    /**
+     * Checks the owner and builds the filter, called before the response is committed
+     */
+    public BookingFilter filterByOwner(Long ownerId, BookingState state) {
+        if (!userService.existsUser(ownerId)) {
+            throw new NotFoundException("неверное ид пользователя");
+        }
+        return BookingFilter.of(state, LocalDateTime.now());
+    }
+
+    public void exportByUser(Long userId, BookingFilter filter, OutputStream out) {
+        try (Stream<Booking> bookings = bookingRepository.streamByBooker(userId, filter.getStartAfter(),
+                filter.getStartBefore(), filter.getEndAfter(), filter.getEndBefore(), filter.getStatuses())) {
+            write(bookings, out);
+        }
+    }
+
+    public void exportByOwner(Long ownerId, BookingFilter filter, OutputStream out) {
+        try (Stream<Booking> bookings = bookingRepository.streamByOwner(ownerId, filter.getStartAfter(),
+                filter.getStartBefore(), filter.getEndAfter(), filter.getEndBefore(), filter.getStatuses())) {
+            write(bookings, out);
+        }
+    }
+
+    private void write(Stream<Booking> bookings, OutputStream out) {
+        long count = 0;
+        try {
+            try (SequenceWriter writer = objectMapper.writer()
+                    .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                    .withRootValueSeparator("\n")
+                    .writeValues(out)) {
+                Iterator<Booking> iterator = bookings.iterator();
+                while (iterator.hasNext()) {
+                    writer.write(bookingMapper.map(iterator.next()));
+                    if (++count % CHUNK_SIZE == 0) {
+                        entityManager.clear();
+                        writer.flush();
+                    }
+                }
+            }
+            if (count > 0) {
+                out.write('\n');
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        log.info("BookingExportService/write exported {} bookings", count);
+    }
+}
@@ -0,0 +1,143 @@
+package ru.practicum.shareit.booking.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.event.BookingChangedEvent;
+import ru.practicum.shareit.booking.model.BookingParties;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Periodically moves WAITING bookings whose start has passed to EXPIRED and ended APPROVED bookings
+ * to COMPLETED. Each chunk is one short transaction with a single set-based update, derived views follow
+ * through BookingChangedEvent after commit.
+ */
+@Slf4j
+@Component
+public class BookingLifecycleSweeper {
+    private static final String METRIC_PREFIX = "shareit.sweeper";
+
+    private final BookingRepository bookingRepository;
+    private final BookingAvailabilityEngine availabilityEngine;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry registry;
+    private final int chunkSize;
+    private final Timer runTimer;
+    private final AtomicLong expireLag = new AtomicLong();
+    private final AtomicLong completeLag = new AtomicLong();
+
+    public BookingLifecycleSweeper(BookingRepository bookingRepository,
+                                   BookingAvailabilityEngine availabilityEngine,
+                                   ApplicationEventPublisher eventPublisher,
+                                   PlatformTransactionManager transactionManager,
+                                   MeterRegistry registry,
+                                   @Value("${shareit.booking-sweeper.chunk-size:500}") int chunkSize) {
+        this.bookingRepository = bookingRepository;
+        this.availabilityEngine = availabilityEngine;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.registry = registry;
+        this.chunkSize = chunkSize;
+        this.runTimer = Timer.builder(METRIC_PREFIX + ".run")
+                .description("Duration of a sweep")
+                .register(registry);
+        Gauge.builder(METRIC_PREFIX + ".lag", expireLag, AtomicLong::get)
+                .description("Seconds the oldest overdue booking waited for the sweep")
+                .tag("transition", "expired")
+                .baseUnit("seconds")
+                .register(registry);
+        Gauge.builder(METRIC_PREFIX + ".lag", completeLag, AtomicLong::get)
+                .description("Seconds the oldest overdue booking waited for the sweep")
+                .tag("transition", "completed")
+                .baseUnit("seconds")
+                .register(registry);
+    }
+
+    @Scheduled(initialDelayString = "${shareit.booking-sweeper.initial-delay:PT1M}",
+            fixedDelayString = "${shareit.booking-sweeper.delay:PT1M}")
+    public void sweep() {
+        runTimer.record(() -> {
+            LocalDateTime now = LocalDateTime.now();
+            expireLag.set(lagSeconds(bookingRepository.findOldestStartBefore(BookingStatus.WAITING, now), now));
+            completeLag.set(lagSeconds(bookingRepository.findOldestEndBefore(BookingStatus.APPROVED, now), now));
+
+            int expired = sweep(BookingStatus.WAITING, BookingStatus.EXPIRED, now,
+                    bookingRepository::findPartiesByStatusAndStartBefore);
+            int completed = sweep(BookingStatus.APPROVED, BookingStatus.COMPLETED, now,
+                    bookingRepository::findPartiesByStatusAndEndBefore);
+            if (expired > 0 || completed > 0) {
+                log.info("BookingLifecycleSweeper/sweep: expired {}, completed {} bookings", expired, completed);
+            }
+        });
+    }
+
+    private int sweep(BookingStatus from, BookingStatus to, LocalDateTime now,
+                      TriFunction<BookingStatus, LocalDateTime, Limit, List<BookingParties>> overdue) {
+        String transition = to.name().toLowerCase();
+        Counter transitions = registry.counter(METRIC_PREFIX + ".transitions", "transition", transition);
+        Timer chunkTimer = registry.timer(METRIC_PREFIX + ".chunk", "transition", transition);
+        int total = 0;
+        int found;
+        do {
+            int[] counts = chunkTimer.record(() -> transactionTemplate.execute(status ->
+                    sweepChunk(overdue.apply(from, now, Limit.of(chunkSize)), from, to)));
+            found = Objects.requireNonNull(counts)[0];
+            transitions.increment(counts[1]);
+            total += counts[1];
+        } while (found == chunkSize);
+        return total;
+    }
+
+    /**
+     * @return bookings found and bookings changed
+     */
+    private int[] sweepChunk(List<BookingParties> bookings, BookingStatus from, BookingStatus to) {
+        if (bookings.isEmpty()) {
+            return new int[]{0, 0};
+        }
+        List<Long> ids = bookings.stream().map(BookingParties::getBookingId).toList();
+        int updated = bookingRepository.updateStatus(ids, from, to);
+        List<BookingParties> changed = bookings;
+        if (updated < bookings.size()) {
+            // some bookings changed status concurrently, keep only those moved by this update
+            Set<Long> moved = Set.copyOf(bookingRepository.findIdsByIdInAndStatus(ids, to));
+            changed = bookings.stream().filter(booking -> moved.contains(booking.getBookingId())).collect(Collectors.toList());
+        }
+        for (BookingParties booking : changed) {
+            if (to == BookingStatus.EXPIRED) {
+                availabilityEngine.releaseOnCommit(booking.getItemId(), booking.getBookingId());
+            }
+            eventPublisher.publishEvent(new BookingChangedEvent(booking.getBookingId(), booking.getItemId(),
+                    booking.getBookerId(), booking.getOwnerId(), to, false));
+        }
+        return new int[]{bookings.size(), changed.size()};
+    }
+
+    private static long lagSeconds(LocalDateTime due, LocalDateTime now) {
+        return due == null ? 0 : Duration.between(due, now).toSeconds();
+    }
+
+    @FunctionalInterface
+    private interface TriFunction<A, B, C, R> {
+        R apply(A a, B b, C c);
+    }
+}
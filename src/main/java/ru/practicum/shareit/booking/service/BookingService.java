@@ -1,20 +1,31 @@
 package ru.practicum.shareit.booking.service;
 
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
+import ru.practicum.shareit.booking.dto.BookingPageDto;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.dto.BookingStateCountsDto;
 import ru.practicum.shareit.booking.model.BookingState;
 
-import java.util.Collection;
+import java.util.List;
 
 public interface BookingService {
 
     BookingResponseDto add(BookingRequestDto bookingRequestDto, Long userId);
 
+    List<BookingBatchResultDto> addAll(List<BookingRequestDto> bookingRequestDtos, Long userId);
+
     BookingResponseDto setStatus(Long bookingId, Long userId, Boolean approved);
 
     BookingResponseDto getById(Long bookingId, Long userId);
 
-    Collection<BookingResponseDto> getByUserAndState(Long userId, BookingState state);
+    String getBookingETag(Long bookingId, Long userId);
+
+    BookingPageDto getByUserAndState(Long userId, BookingState state, String cursor, Integer size);
+
+    BookingPageDto getByOwnerAndState(Long ownerId, BookingState state, String cursor, Integer size);
+
+    BookingStateCountsDto getStateCountsByUser(Long userId);
 
-    Collection<BookingResponseDto> getByOwnerAndState(Long ownerId, BookingState state);
+    BookingStateCountsDto getStateCountsByOwner(Long ownerId);
 }
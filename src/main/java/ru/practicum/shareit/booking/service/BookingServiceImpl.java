@@ -1,27 +1,46 @@
 package ru.practicum.shareit.booking.service;
 
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
+import ru.practicum.shareit.booking.dto.BookingPageDto;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.dto.BookingStateCountsDto;
+import ru.practicum.shareit.booking.event.BookingChangedEvent;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingState;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.model.BookingVersion;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.core.config.CacheConfig;
+import ru.practicum.shareit.core.exception.DataConflictException;
 import ru.practicum.shareit.core.exception.NotFoundException;
 import ru.practicum.shareit.core.exception.WrongArgumentException;
+import ru.practicum.shareit.core.metrics.PhaseMetrics;
+import ru.practicum.shareit.core.pagination.KeysetCursor;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.service.ItemService;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.service.UserService;
 
 import java.time.LocalDateTime;
-import java.util.Collection;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -29,10 +48,19 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class BookingServiceImpl implements BookingService {
+    private static final Sort BOOKING_ORDER = Sort.by("endDate", "id");
+    private static final String BOOKER_ENDPOINT = "/bookings";
+    private static final String OWNER_ENDPOINT = "/bookings/owner";
+    private static final int DEFAULT_PAGE_SIZE = 100;
+
     private final BookingRepository bookingRepository;
     private final BookingMapper bookingMapper;
     private final UserService userService;
     private final ItemService itemService;
+    private final BookingAvailabilityEngine availabilityEngine;
+    private final PhaseMetrics phaseMetrics;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional
@@ -47,12 +75,54 @@ public class BookingServiceImpl implements BookingService {
         if (bookingRequestDto.getEnd().isBefore(bookingRequestDto.getStart())) {
             throw new WrongArgumentException("Дата конца бронирования должна быть после даты начала");
         }
-        Booking booking = bookingMapper.map(bookingRequestDto, item, booker);
-        booking = bookingRepository.save(booking);
+        Booking booking = availabilityEngine.reserve(
+                item.getId(),
+                bookingRequestDto.getStart(),
+                bookingRequestDto.getEnd(),
+                () -> bookingRepository.save(bookingMapper.map(bookingRequestDto, item, booker)));
+        eventPublisher.publishEvent(BookingChangedEvent.created(booking, itemService.getItemById(item.getId()).getOwner().getId()));
 
         return bookingMapper.map(booking);
     }
 
+    @Override
+    @Transactional
+    public List<BookingBatchResultDto> addAll(List<BookingRequestDto> bookingRequestDtos, Long userId) {
+        UserDto booker = userService.getById(userId);
+        Map<Long, ItemDto> items = itemService.getByIds(bookingRequestDtos.stream()
+                .map(BookingRequestDto::getItemId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet()));
+
+        List<BookingBatchResultDto> results = new ArrayList<>(bookingRequestDtos.size());
+        for (int i = 0; i < bookingRequestDtos.size(); i++) {
+            BookingRequestDto bookingRequestDto = bookingRequestDtos.get(i);
+            try {
+                validate(bookingRequestDto);
+                ItemDto item = items.get(bookingRequestDto.getItemId());
+                if (item == null) {
+                    throw new NotFoundException(String.format("Позиция с ид %s не найдена", bookingRequestDto.getItemId()));
+                }
+                if (!item.getAvailable()) {
+                    throw new WrongArgumentException("Позиция недоступна для бронирования");
+                }
+                if (bookingRequestDto.getEnd().isBefore(bookingRequestDto.getStart())) {
+                    throw new WrongArgumentException("Дата конца бронирования должна быть после даты начала");
+                }
+                Booking booking = availabilityEngine.reserve(
+                        item.getId(),
+                        bookingRequestDto.getStart(),
+                        bookingRequestDto.getEnd(),
+                        () -> bookingRepository.save(bookingMapper.map(bookingRequestDto, item, booker)));
+                eventPublisher.publishEvent(BookingChangedEvent.created(booking, itemService.getItemById(item.getId()).getOwner().getId()));
+                results.add(BookingBatchResultDto.success(i, bookingMapper.map(booking)));
+            } catch (NotFoundException | WrongArgumentException | DataConflictException e) {
+                results.add(BookingBatchResultDto.failure(i, e.getMessage()));
+            }
+        }
+        return results;
+    }
+
     @Override
     @Transactional
     public BookingResponseDto setStatus(Long bookingId, Long userId, Boolean approved) {
@@ -63,14 +133,29 @@ public class BookingServiceImpl implements BookingService {
         if (!userService.existsUser(userId)) {
             throw new WrongArgumentException("неверное ид пользователя");
         }
-        UserDto owner = userService.getById(userId);
-        if (!Objects.equals(owner.getId(), booking.getItem().getOwner().getId())) {
+        if (!Objects.equals(userId, booking.getItem().getOwner().getId())) {
             throw new WrongArgumentException("Изменять статус бронирования может только владелец позиции");
         }
 
+        if (booking.getStatus() == BookingStatus.EXPIRED || booking.getStatus() == BookingStatus.COMPLETED) {
+            throw new WrongArgumentException("Статус завершённого или просроченного бронирования изменить нельзя");
+        }
+        // a waiting booking expires at its start, whether or not the sweeper has marked it yet
+        if (booking.getStatus() == BookingStatus.WAITING && booking.getStartDate().isBefore(LocalDateTime.now())) {
+            throw new WrongArgumentException("Статус бронирования нельзя изменить после его начала");
+        }
+
         BookingStatus status = approved ? BookingStatus.APPROVED : BookingStatus.REJECTED;
+        Long itemId = booking.getItem().getId();
+        if (status == BookingStatus.REJECTED) {
+            availabilityEngine.releaseOnCommit(itemId, booking.getId());
+        } else if (booking.getStatus() == BookingStatus.REJECTED) {
+            Booking rejected = booking;
+            availabilityEngine.reserve(itemId, rejected.getStartDate(), rejected.getEndDate(), () -> rejected);
+        }
         booking.setStatus(status);
         booking = bookingRepository.save(booking);
+        eventPublisher.publishEvent(BookingChangedEvent.statusChanged(booking, userId));
 
         return bookingMapper.map(booking);
     }
@@ -90,49 +175,117 @@ public class BookingServiceImpl implements BookingService {
     }
 
     @Override
-    public Collection<BookingResponseDto> getByUserAndState(Long userId, BookingState state) {
+    public String getBookingETag(Long bookingId, Long userId) {
+        BookingVersion version = bookingRepository.findVersionById(bookingId).orElseThrow(() -> new NotFoundException(
+                String.format("Бронирование с ид %s не найдено", bookingId))
+        );
+        if (!Objects.equals(version.getBookerId(), userId) && !Objects.equals(version.getOwnerId(), userId)) {
+            throw new WrongArgumentException("Позиция доступна для просмотра только арендатором либо владельцем");
+        }
+        return version.etag();
+    }
+
+    @Override
+    public BookingPageDto getByUserAndState(Long userId, BookingState state, String cursor, Integer size) {
         if (!userService.existsUser(userId)) {
             throw new WrongArgumentException("неверное ид пользователя");
         }
-        Collection<Booking> bookings = switch (state) {
-            case ALL -> bookingRepository.findByBookerId(userId, Sort.by("endDate"));
+        ScrollPosition position = KeysetCursor.position(cursor, "endDate");
+        Limit limit = pageLimit(cursor, size);
+        LocalDateTime now = LocalDateTime.now();
+        Window<Booking> bookings = phaseMetrics.timer(PhaseMetrics.QUERY, BOOKER_ENDPOINT, state).record(() -> switch (state) {
+            case ALL -> bookingRepository.findByBookerId(userId, position, BOOKING_ORDER, limit);
             case CURRENT ->
-                    bookingRepository.findByBookerIdAndStartDateBeforeAndEndDateAfter(userId, LocalDateTime.now(), LocalDateTime.now(), Sort.by("endDate"));
+                    bookingRepository.findByBookerIdAndStartDateBeforeAndEndDateAfter(userId, now, now, position, BOOKING_ORDER, limit);
             case PAST ->
-                    bookingRepository.findByBookerIdAndEndDateBefore(userId, LocalDateTime.now(), Sort.by("endDate"));
+                    bookingRepository.findByBookerIdAndEndDateBefore(userId, now, position, BOOKING_ORDER, limit);
             case FUTURE ->
-                    bookingRepository.findByBookerIdAndStartDateAfter(userId, LocalDateTime.now(), Sort.by("endDate"));
+                    bookingRepository.findByBookerIdAndStartDateAfter(userId, now, position, BOOKING_ORDER, limit);
             case WAITING ->
-                    bookingRepository.findByBookerIdAndStatus(userId, BookingStatus.WAITING, Sort.by("endDate"));
+                    bookingRepository.findByBookerIdAndStatus(userId, BookingStatus.WAITING, position, BOOKING_ORDER, limit);
             case REJECTED ->
-                    bookingRepository.findByBookerIdAndStatus(userId, BookingStatus.REJECTED, Sort.by("endDate"));
-        };
+                    bookingRepository.findByBookerIdAndStatus(userId, BookingStatus.REJECTED, position, BOOKING_ORDER, limit);
+        });
 
-        return bookings.stream().map(bookingMapper::map).collect(Collectors.toList());
+        return phaseMetrics.timer(PhaseMetrics.MAPPING, BOOKER_ENDPOINT, state).record(() -> toPage(bookings));
     }
 
     @Override
-    public Collection<BookingResponseDto> getByOwnerAndState(Long ownerId, BookingState state) {
+    public BookingPageDto getByOwnerAndState(Long ownerId, BookingState state, String cursor, Integer size) {
         if (!userService.existsUser(ownerId)) {
             throw new NotFoundException("неверное ид пользователя");
         }
-        Collection<Booking> bookings = switch (state) {
-            case ALL -> bookingRepository.findBookingByItem_OwnerId(ownerId, Sort.by("endDate"));
+        ScrollPosition position = KeysetCursor.position(cursor, "endDate");
+        Limit limit = pageLimit(cursor, size);
+        LocalDateTime now = LocalDateTime.now();
+        Window<Booking> bookings = phaseMetrics.timer(PhaseMetrics.QUERY, OWNER_ENDPOINT, state).record(() -> switch (state) {
+            case ALL -> bookingRepository.findBookingByItem_OwnerId(ownerId, position, BOOKING_ORDER, limit);
             case CURRENT -> bookingRepository.findBookingByStartDateBeforeAndEndDateAfterAndItem_OwnerId(
-                    LocalDateTime.now(),
-                    LocalDateTime.now(),
+                    now,
+                    now,
                     ownerId,
-                    Sort.by("endDate"));
+                    position,
+                    BOOKING_ORDER,
+                    limit);
             case PAST ->
-                    bookingRepository.findBookingByEndDateBeforeAndItem_OwnerId(LocalDateTime.now(), ownerId, Sort.by("endDate"));
+                    bookingRepository.findBookingByEndDateBeforeAndItem_OwnerId(now, ownerId, position, BOOKING_ORDER, limit);
             case FUTURE ->
-                    bookingRepository.findBookingByStartDateAfterAndItem_OwnerId(LocalDateTime.now(), ownerId, Sort.by("endDate"));
+                    bookingRepository.findBookingByStartDateAfterAndItem_OwnerId(now, ownerId, position, BOOKING_ORDER, limit);
             case WAITING ->
-                    bookingRepository.findBookingByStatusAndItem_OwnerId(BookingStatus.WAITING, ownerId, Sort.by("endDate"));
+                    bookingRepository.findBookingByStatusAndItem_OwnerId(BookingStatus.WAITING, ownerId, position, BOOKING_ORDER, limit);
             case REJECTED ->
-                    bookingRepository.findBookingByStatusAndItem_OwnerId(BookingStatus.REJECTED, ownerId, Sort.by("endDate"));
-        };
+                    bookingRepository.findBookingByStatusAndItem_OwnerId(BookingStatus.REJECTED, ownerId, position, BOOKING_ORDER, limit);
+        });
 
-        return bookings.stream().map(bookingMapper::map).collect(Collectors.toList());
+        return phaseMetrics.timer(PhaseMetrics.MAPPING, OWNER_ENDPOINT, state).record(() -> toPage(bookings));
+    }
+
+    /**
+     * Paging is opt-in: without cursor and size the whole list is returned as before,
+     * a cursor without size continues with pages of the default size
+     */
+    private static Limit pageLimit(String cursor, Integer size) {
+        if (size != null) {
+            return Limit.of(size);
+        }
+        return cursor == null ? Limit.unlimited() : Limit.of(DEFAULT_PAGE_SIZE);
+    }
+
+    @Override
+    @Cacheable(cacheNames = CacheConfig.BOOKER_STATE_COUNTS, key = "#userId")
+    public BookingStateCountsDto getStateCountsByUser(Long userId) {
+        if (!userService.existsUser(userId)) {
+            throw new WrongArgumentException("неверное ид пользователя");
+        }
+        return bookingRepository.countStatesByBookerId(userId, LocalDateTime.now());
+    }
+
+    @Override
+    @Cacheable(cacheNames = CacheConfig.OWNER_STATE_COUNTS, key = "#ownerId")
+    public BookingStateCountsDto getStateCountsByOwner(Long ownerId) {
+        if (!userService.existsUser(ownerId)) {
+            throw new NotFoundException("неверное ид пользователя");
+        }
+        return bookingRepository.countStatesByOwnerId(ownerId, LocalDateTime.now());
+    }
+
+    private void validate(BookingRequestDto bookingRequestDto) {
+        Set<ConstraintViolation<BookingRequestDto>> violations = validator.validate(bookingRequestDto);
+        if (!violations.isEmpty()) {
+            throw new WrongArgumentException(violations.stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; ")));
+        }
+    }
+
+    private BookingPageDto toPage(Window<Booking> bookings) {
+        List<BookingResponseDto> content = bookings.stream().map(bookingMapper::map).collect(Collectors.toList());
+        String nextCursor = null;
+        if (bookings.hasNext() && !bookings.isEmpty()) {
+            Booking last = bookings.getContent().get(bookings.size() - 1);
+            nextCursor = new KeysetCursor(last.getEndDate(), last.getId()).encode();
+        }
+        return new BookingPageDto(content, nextCursor);
     }
 }
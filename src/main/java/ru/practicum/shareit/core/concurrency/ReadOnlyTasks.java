@@ -0,0 +1,87 @@
+package ru.practicum.shareit.core.concurrency;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.core.datasource.ReadYourWrites;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * Runs independent reads of one request in parallel, every task in its own read-only transaction.
+ * Tasks run on virtual threads when spring.threads.virtual.enabled is set and on a bounded pool otherwise.
+ */
+@Component
+public class ReadOnlyTasks {
+    private final ExecutorService executor;
+    private final TransactionTemplate transactionTemplate;
+
+    public ReadOnlyTasks(PlatformTransactionManager transactionManager,
+                         @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads,
+                         @Value("${shareit.fan-out.pool-size:32}") int poolSize) {
+        this.executor = virtualThreads
+                ? Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("fan-out-", 0).factory())
+                : Executors.newFixedThreadPool(poolSize, new CustomizableThreadFactory("fan-out-"));
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    /**
+     * Submits the task, a read-your-writes pin of the calling thread applies to the task as well
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> task) {
+        boolean pinned = ReadYourWrites.isPinned();
+        return CompletableFuture.supplyAsync(() -> ReadYourWrites.call(pinned,
+                () -> transactionTemplate.execute(status -> task.get())), executor);
+    }
+
+    /**
+     * Waits for all tasks. The first failure cancels the remaining tasks and is rethrown as is,
+     * so exceptions of the tasks reach ErrorHandler the same way as in sequential code.
+     */
+    public static void join(CompletableFuture<?>... tasks) {
+        CompletableFuture<Void> all = CompletableFuture.allOf(tasks);
+        for (CompletableFuture<?> task : tasks) {
+            task.whenComplete((result, e) -> {
+                if (e != null) {
+                    all.completeExceptionally(e);
+                }
+            });
+        }
+        try {
+            all.join();
+        } catch (CompletionException e) {
+            for (CompletableFuture<?> task : tasks) {
+                task.cancel(true);
+            }
+            throw unwrap(e);
+        }
+    }
+
+    private static RuntimeException unwrap(Throwable e) {
+        Throwable cause = e;
+        while ((cause instanceof CompletionException || cause instanceof ExecutionException) && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        if (cause instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        }
+        if (cause instanceof Error error) {
+            throw error;
+        }
+        return new IllegalStateException(cause);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
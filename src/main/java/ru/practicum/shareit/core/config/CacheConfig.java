@@ -0,0 +1,45 @@
+package ru.practicum.shareit.core.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.AccessLevel;
+import lombok.Data;
+import lombok.experimental.FieldDefaults;
+import org.springframework.boot.autoconfigure.cache.CacheManagerCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * In-process caches. Every cache is bounded and configured by its own Caffeine spec,
+ * statistics are recorded for the actuator cache metrics.
+ * Caching advice wraps transactions, so cache hits do not open one and evictions happen after commit.
+ */
+@Configuration
+@EnableCaching(order = Ordered.HIGHEST_PRECEDENCE)
+@EnableConfigurationProperties(CacheConfig.CacheProperties.class)
+public class CacheConfig {
+    public static final String USERS = "users";
+    public static final String USER_EXISTS = "userExists";
+    public static final String BOOKER_STATE_COUNTS = "bookerStateCounts";
+    public static final String OWNER_STATE_COUNTS = "ownerStateCounts";
+
+    @Bean
+    CacheManagerCustomizer<CaffeineCacheManager> caffeineCacheCustomizer(CacheProperties properties) {
+        return cacheManager -> properties.getSpecs().forEach((name, spec) ->
+                cacheManager.registerCustomCache(name, Caffeine.from(spec).recordStats().build()));
+    }
+
+    @Data
+    @FieldDefaults(level = AccessLevel.PRIVATE)
+    @ConfigurationProperties(prefix = "shareit.cache")
+    public static class CacheProperties {
+        Map<String, String> specs = new LinkedHashMap<>();
+    }
+}
@@ -0,0 +1,43 @@
+package ru.practicum.shareit.core.datasource;
+
+import java.util.function.Supplier;
+
+/**
+ * Marks the current thread as one that must read from the primary, for example
+ * because its user has just written and replicas may not have the change yet
+ */
+public final class ReadYourWrites {
+    private static final ThreadLocal<Boolean> PINNED = new ThreadLocal<>();
+
+    private ReadYourWrites() {
+    }
+
+    public static boolean isPinned() {
+        return Boolean.TRUE.equals(PINNED.get());
+    }
+
+    public static void pin(boolean pinned) {
+        PINNED.set(pinned);
+    }
+
+    public static void clear() {
+        PINNED.remove();
+    }
+
+    /**
+     * Runs the task with the given pin, used to carry the pin of a request to its worker threads
+     */
+    public static <T> T call(boolean pinned, Supplier<T> task) {
+        Boolean previous = PINNED.get();
+        PINNED.set(pinned);
+        try {
+            return task.get();
+        } finally {
+            if (previous == null) {
+                PINNED.remove();
+            } else {
+                PINNED.set(previous);
+            }
+        }
+    }
+}
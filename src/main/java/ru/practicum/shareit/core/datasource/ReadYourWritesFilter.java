@@ -0,0 +1,49 @@
+package ru.practicum.shareit.core.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Pins reads of a user to the primary for a short window after the user changed data,
+ * so a GET right after a POST sees the change even if replicas lag behind
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+    static final String USER_HEADER = "X-Sharer-User-Id";
+    private static final Set<String> READS = Set.of(HttpMethod.GET.name(), HttpMethod.HEAD.name(), HttpMethod.OPTIONS.name());
+
+    private final Cache<String, Boolean> recentWriters;
+
+    public ReadYourWritesFilter(Duration window) {
+        this.recentWriters = Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .expireAfterWrite(window)
+                .build();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String user = request.getHeader(USER_HEADER);
+        boolean write = !READS.contains(request.getMethod());
+        boolean pinned = user != null && (write || recentWriters.getIfPresent(user) != null);
+        ReadYourWrites.pin(pinned);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            ReadYourWrites.clear();
+            if (user != null && write) {
+                recentWriters.put(user, Boolean.TRUE);
+            }
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package ru.practicum.shareit.core.datasource;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Checks replicas periodically and takes failed ones out of the read rotation until they answer again.
+ * A failed replica does not make the application unhealthy, reads fall back to the primary.
+ */
+@RequiredArgsConstructor
+public class ReplicaHealthMonitor implements HealthIndicator {
+    private final ReadWriteRoutingDataSource routingDataSource;
+    private final Duration timeout;
+
+    @Scheduled(fixedDelayString = "${shareit.datasource.health-check-interval:PT5S}")
+    public void check() {
+        routingDataSource.getReplicas().forEach((replica, dataSource) ->
+                routingDataSource.setHealthy(replica, isValid(dataSource)));
+    }
+
+    @Override
+    public Health health() {
+        Map<String, Object> details = new LinkedHashMap<>();
+        routingDataSource.getReplicas().keySet().forEach(replica ->
+                details.put(replica, routingDataSource.isHealthy(replica) ? "UP" : "DOWN"));
+        return Health.up().withDetails(details).build();
+    }
+
+    private boolean isValid(DataSource dataSource) {
+        try (Connection connection = dataSource.getConnection()) {
+            return connection.isValid((int) Math.max(1, timeout.toSeconds()));
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+}
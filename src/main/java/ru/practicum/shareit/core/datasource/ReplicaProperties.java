@@ -0,0 +1,32 @@
+package ru.practicum.shareit.core.datasource;
+
+import lombok.AccessLevel;
+import lombok.Data;
+import lombok.experimental.FieldDefaults;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read replicas used by read-only transactions, the primary is configured by spring.datasource
+ */
+@Data
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@ConfigurationProperties(prefix = "shareit.datasource")
+public class ReplicaProperties {
+    List<Replica> replicas = new ArrayList<>();
+    Duration healthCheckInterval = Duration.ofSeconds(5);
+    Duration healthCheckTimeout = Duration.ofSeconds(2);
+    Duration readYourWritesWindow = Duration.ofSeconds(5);
+
+    @Data
+    @FieldDefaults(level = AccessLevel.PRIVATE)
+    public static class Replica {
+        String url;
+        String username;
+        String password;
+        String driverClassName;
+    }
+}
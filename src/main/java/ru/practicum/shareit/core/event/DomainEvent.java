@@ -0,0 +1,8 @@
+package ru.practicum.shareit.core.event;
+
+/**
+ * Change of domain data, published with ApplicationEventPublisher inside a transaction
+ * and handled by DomainEventHandler beans after the transaction commits
+ */
+public interface DomainEvent {
+}
@@ -0,0 +1,220 @@
+package ru.practicum.shareit.core.event;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Hands committed domain events to DomainEventHandler beans off the request thread. Events published in
+ * a transaction are queued after commit in a bounded ring buffer and handled in batches by consumer threads.
+ * A publisher finding the buffer full waits up to offer-timeout and then handles its event itself in a new
+ * transaction, the committed one is still bound to the thread. Batches failing on a concurrency conflict are
+ * retried up to retry-attempts times. On shutdown the consumers finish the events left in the buffer before the database closes.
+ */
+@Slf4j
+@Component
+@EnableConfigurationProperties(DomainEventProperties.class)
+public class DomainEventBus implements SmartLifecycle {
+    private static final String METRIC_PREFIX = "shareit.events";
+
+    private final DomainEventProperties properties;
+    private final List<DomainEventHandler<?>> handlers;
+    private final RingBuffer<Envelope> buffer;
+    private final TransactionTemplate inlineTransaction;
+    private final List<Thread> consumers = new ArrayList<>();
+    private volatile boolean running;
+
+    private final Counter published;
+    private final Counter overflow;
+    private final Counter failed;
+    private final Counter retried;
+    private final DistributionSummary batchSize;
+    private final Timer lag;
+
+    public DomainEventBus(DomainEventProperties properties, ObjectProvider<DomainEventHandler<?>> handlers,
+                          PlatformTransactionManager transactionManager, MeterRegistry registry) {
+        this.properties = properties;
+        this.handlers = handlers.orderedStream().toList();
+        this.buffer = new RingBuffer<>(properties.getCapacity());
+        this.inlineTransaction = new TransactionTemplate(transactionManager);
+        this.inlineTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        Gauge.builder(METRIC_PREFIX + ".buffer.size", buffer, RingBuffer::size)
+                .description("Events waiting in the ring buffer")
+                .register(registry);
+        Gauge.builder(METRIC_PREFIX + ".buffer.capacity", buffer, RingBuffer::capacity)
+                .register(registry);
+        this.published = Counter.builder(METRIC_PREFIX + ".published")
+                .description("Events queued after commit")
+                .register(registry);
+        this.overflow = Counter.builder(METRIC_PREFIX + ".overflow")
+                .description("Events handled by the publisher because the buffer stayed full")
+                .register(registry);
+        this.failed = Counter.builder(METRIC_PREFIX + ".failed")
+                .description("Event batches a handler failed on after all attempts")
+                .register(registry);
+        this.retried = Counter.builder(METRIC_PREFIX + ".retried")
+                .description("Handler attempts repeated after a concurrency conflict")
+                .register(registry);
+        this.batchSize = DistributionSummary.builder(METRIC_PREFIX + ".batch.size")
+                .description("Events handled in one batch")
+                .register(registry);
+        this.lag = Timer.builder(METRIC_PREFIX + ".lag")
+                .description("Time from commit to the end of handling")
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCommitted(DomainEvent event) {
+        Envelope envelope = new Envelope(event, System.nanoTime());
+        published.increment();
+        if (running && offer(envelope)) {
+            return;
+        }
+        overflow.increment();
+        dispatch(List.of(envelope), true);
+    }
+
+    private boolean offer(Envelope envelope) {
+        if (buffer.offer(envelope)) {
+            return true;
+        }
+        long deadline = System.nanoTime() + properties.getOfferTimeout().toNanos();
+        while (running && deadline - System.nanoTime() > 0) {
+            LockSupport.parkNanos(properties.getIdleWait().toNanos());
+            if (buffer.offer(envelope)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void consume() {
+        List<Envelope> batch = new ArrayList<>(properties.getBatchSize());
+        while (running || !buffer.isEmpty()) {
+            if (buffer.drainTo(batch, properties.getBatchSize()) == 0) {
+                LockSupport.parkNanos(properties.getIdleWait().toNanos());
+                continue;
+            }
+            dispatch(batch, false);
+            batch.clear();
+        }
+    }
+
+    /**
+     * @param inline whether the publisher handles the batch after its own commit, handlers then get a new
+     *               transaction instead of joining the completed one
+     */
+    private void dispatch(List<Envelope> batch, boolean inline) {
+        batchSize.record(batch.size());
+        for (DomainEventHandler<?> handler : handlers) {
+            handle(handler, batch, inline);
+        }
+        long now = System.nanoTime();
+        for (Envelope envelope : batch) {
+            lag.record(now - envelope.committedAt(), TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private <E extends DomainEvent> void handle(DomainEventHandler<E> handler, List<Envelope> batch, boolean inline) {
+        List<E> events = new ArrayList<>(batch.size());
+        for (Envelope envelope : batch) {
+            if (handler.eventType().isInstance(envelope.event())) {
+                events.add(handler.eventType().cast(envelope.event()));
+            }
+        }
+        if (events.isEmpty()) {
+            return;
+        }
+        for (int attempt = 1; ; attempt++) {
+            try {
+                if (inline) {
+                    inlineTransaction.executeWithoutResult(status -> handler.handle(events));
+                } else {
+                    handler.handle(events);
+                }
+                return;
+            } catch (ConcurrencyFailureException | TransientDataAccessException e) {
+                if (attempt >= properties.getRetryAttempts()) {
+                    fail(handler, events, e);
+                    return;
+                }
+                retried.increment();
+                log.info("DomainEventBus/handle: {} attempt {} conflicted, retrying",
+                        handler.getClass().getSimpleName(), attempt);
+                LockSupport.parkNanos(properties.getRetryBackoff().toNanos() * attempt);
+            } catch (RuntimeException e) {
+                fail(handler, events, e);
+                return;
+            }
+        }
+    }
+
+    private void fail(DomainEventHandler<?> handler, List<?> events, RuntimeException e) {
+        failed.increment();
+        log.error("DomainEventBus/handle: {} failed on {} events", handler.getClass().getSimpleName(), events.size(), e);
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        for (int i = 0; i < properties.getConsumers(); i++) {
+            Thread consumer = new Thread(this::consume, "domain-events-" + i);
+            consumer.start();
+            consumers.add(consumer);
+        }
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        long deadline = System.nanoTime() + properties.getDrainTimeout().toNanos();
+        for (Thread consumer : consumers) {
+            try {
+                consumer.join(Math.max(1, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime())));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        if (!buffer.isEmpty()) {
+            log.warn("DomainEventBus/stop: {} events left unhandled", buffer.size());
+        }
+        consumers.clear();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Stops after the web server has finished its requests, so their events are drained as well
+     */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    private record Envelope(DomainEvent event, long committedAt) {
+    }
+}
@@ -0,0 +1,14 @@
+package ru.practicum.shareit.core.event;
+
+import java.util.List;
+
+/**
+ * Updates a derived view from batches of committed events. Called on consumer threads of DomainEventBus,
+ * outside of any transaction; events of a batch are in publication order. A batch failing on a concurrency
+ * conflict is handled again, so handling must be repeatable.
+ */
+public interface DomainEventHandler<E extends DomainEvent> {
+    Class<E> eventType();
+
+    void handle(List<E> events);
+}
@@ -0,0 +1,37 @@
+package ru.practicum.shareit.core.event;
+
+import lombok.AccessLevel;
+import lombok.Data;
+import lombok.experimental.FieldDefaults;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@ConfigurationProperties(prefix = "shareit.events")
+public class DomainEventProperties {
+    /**
+     * Ring buffer size, rounded up to a power of two
+     */
+    int capacity = 8192;
+    int batchSize = 256;
+    int consumers = 2;
+    /**
+     * How long a publisher waits for free space in a full buffer before it handles the event itself
+     */
+    Duration offerTimeout = Duration.ofMillis(100);
+    /**
+     * Pause of an idle consumer before it polls the buffer again
+     */
+    Duration idleWait = Duration.ofMillis(1);
+    /**
+     * Attempts of a handler on a batch that fails with a concurrency conflict, the pause grows by retry-backoff
+     */
+    int retryAttempts = 3;
+    Duration retryBackoff = Duration.ofMillis(50);
+    /**
+     * How long shutdown waits for the consumers to handle the events left in the buffer
+     */
+    Duration drainTimeout = Duration.ofSeconds(30);
+}
@@ -0,0 +1,45 @@
+package ru.practicum.shareit.core.idempotency;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.util.Optional;
+
+/**
+ * In-memory store of one instance
+ */
+public class CaffeineIdempotencyStore implements IdempotencyStore {
+    private final Cache<String, StoredResponse> responses;
+    private final Cache<String, Boolean> claims;
+
+    public CaffeineIdempotencyStore(IdempotencyProperties properties) {
+        this.responses = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getTtl())
+                .build();
+        this.claims = Caffeine.newBuilder()
+                .expireAfterWrite(properties.getInFlightTimeout())
+                .build();
+    }
+
+    @Override
+    public Optional<StoredResponse> get(String key) {
+        return Optional.ofNullable(responses.getIfPresent(key));
+    }
+
+    @Override
+    public boolean claim(String key) {
+        return claims.asMap().putIfAbsent(key, Boolean.TRUE) == null;
+    }
+
+    @Override
+    public void put(String key, StoredResponse response) {
+        responses.put(key, response);
+        claims.invalidate(key);
+    }
+
+    @Override
+    public void release(String key) {
+        claims.invalidate(key);
+    }
+}
@@ -0,0 +1,35 @@
+package ru.practicum.shareit.core.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Idempotency-Key support for the write endpoints listed in shareit.idempotency.endpoints
+ */
+@Configuration
+@ConditionalOnProperty(name = "shareit.idempotency.enabled", matchIfMissing = true)
+@EnableConfigurationProperties(IdempotencyProperties.class)
+public class IdempotencyConfig {
+    @Bean
+    @ConditionalOnProperty(name = "shareit.idempotency.store", havingValue = "jdbc")
+    IdempotencyStore jdbcIdempotencyStore(JdbcTemplate jdbc, IdempotencyProperties properties) {
+        return new JdbcIdempotencyStore(jdbc, properties);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "shareit.idempotency.store", havingValue = "memory", matchIfMissing = true)
+    IdempotencyStore caffeineIdempotencyStore(IdempotencyProperties properties) {
+        return new CaffeineIdempotencyStore(properties);
+    }
+
+    @Bean
+    IdempotencyFilter idempotencyFilter(IdempotencyStore store, IdempotencyProperties properties,
+                                        ObjectMapper objectMapper, MeterRegistry registry) {
+        return new IdempotencyFilter(store, properties, objectMapper, registry);
+    }
+}
@@ -0,0 +1,303 @@
+package ru.practicum.shareit.core.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import ru.practicum.shareit.core.exception.model.ErrorResponse;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Executes a request with an Idempotency-Key header at most once per user and key. The key is claimed in the
+ * store before the request runs and the response is stored, so a retry is answered from the store without
+ * reaching controllers. A duplicate arriving while the first request still runs waits for its result, on the
+ * same instance through a future and on another instance by polling the store. Server errors and transient
+ * rejections (408, 409, 429) are not stored, so the request can be retried with the same key.
+ */
+@Slf4j
+public class IdempotencyFilter extends OncePerRequestFilter {
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    private static final String USER_HEADER = "X-Sharer-User-Id";
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final long POLL_INTERVAL_MILLIS = 50;
+    private static final Set<Integer> TRANSIENT_STATUSES = Set.of(
+            HttpStatus.REQUEST_TIMEOUT.value(),
+            HttpStatus.CONFLICT.value(),
+            HttpStatus.TOO_MANY_REQUESTS.value());
+
+    private final IdempotencyStore store;
+    private final IdempotencyProperties properties;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry registry;
+    private final List<Endpoint> endpoints;
+    private final Map<String, CompletableFuture<Optional<StoredResponse>>> inFlight = new ConcurrentHashMap<>();
+
+    public IdempotencyFilter(IdempotencyStore store, IdempotencyProperties properties, ObjectMapper objectMapper,
+                             MeterRegistry registry) {
+        this.store = store;
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.registry = registry;
+        this.endpoints = properties.getEndpoints().stream().map(Endpoint::parse).toList();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (request.getHeader(IDEMPOTENCY_KEY_HEADER) == null) {
+            return true;
+        }
+        PathContainer path = PathContainer.parsePath(request.getRequestURI().substring(request.getContextPath().length()));
+        return endpoints.stream().noneMatch(endpoint -> endpoint.matches(request.getMethod(), path));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String idempotencyKey = request.getHeader(IDEMPOTENCY_KEY_HEADER);
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            reject(response, HttpStatus.BAD_REQUEST, "Некорректный заголовок " + IDEMPOTENCY_KEY_HEADER);
+            return;
+        }
+        CachedBodyRequest cachedRequest = new CachedBodyRequest(request);
+        String key = request.getHeader(USER_HEADER) + ' ' + request.getMethod() + ' ' + request.getRequestURI()
+                + ' ' + idempotencyKey;
+        String fingerprint = fingerprint(request.getQueryString(), cachedRequest.body);
+        long deadline = System.nanoTime() + properties.getInFlightTimeout().toNanos();
+
+        while (true) {
+            Optional<StoredResponse> stored = store.get(key);
+            if (stored.isPresent()) {
+                replay(stored.get(), fingerprint, response, "replayed");
+                return;
+            }
+
+            CompletableFuture<Optional<StoredResponse>> own = new CompletableFuture<>();
+            CompletableFuture<Optional<StoredResponse>> running = inFlight.putIfAbsent(key, own);
+            if (running == null) {
+                if (store.claim(key)) {
+                    execute(key, fingerprint, cachedRequest, response, chain, own);
+                    return;
+                }
+                // another instance runs the key, local duplicates retry along with this request
+                inFlight.remove(key, own);
+                own.complete(Optional.empty());
+                if (!pause(deadline)) {
+                    reject(response, HttpStatus.CONFLICT, "Запрос с этим ключом идемпотентности ещё выполняется");
+                    return;
+                }
+                continue;
+            }
+
+            Optional<StoredResponse> result = await(running);
+            if (result == null) {
+                reject(response, HttpStatus.CONFLICT, "Запрос с этим ключом идемпотентности ещё выполняется");
+                return;
+            }
+            if (result.isPresent()) {
+                replay(result.get(), fingerprint, response, "coalesced");
+                return;
+            }
+            // the first request stored nothing or runs on another instance, try again
+        }
+    }
+
+    private void execute(String key, String fingerprint, CachedBodyRequest request, HttpServletResponse response,
+                         FilterChain chain, CompletableFuture<Optional<StoredResponse>> own)
+            throws ServletException, IOException {
+        ContentCachingResponseWrapper cachingResponse = new ContentCachingResponseWrapper(response);
+        Optional<StoredResponse> result = Optional.empty();
+        try {
+            chain.doFilter(request, cachingResponse);
+            if (isStored(cachingResponse.getStatus())) {
+                StoredResponse stored = new StoredResponse(fingerprint, cachingResponse.getStatus(),
+                        cachingResponse.getContentType(), cachingResponse.getHeader(HttpHeaders.LOCATION),
+                        cachingResponse.getContentAsByteArray());
+                store.put(key, stored);
+                result = Optional.of(stored);
+            }
+            count("executed");
+        } finally {
+            if (result.isEmpty()) {
+                store.release(key);
+            }
+            inFlight.remove(key, own);
+            own.complete(result);
+            cachingResponse.copyBodyToResponse();
+        }
+    }
+
+    private static boolean isStored(int status) {
+        return status < HttpStatus.INTERNAL_SERVER_ERROR.value() && !TRANSIENT_STATUSES.contains(status);
+    }
+
+    /**
+     * Waits before the store is checked again, false when the in-flight timeout has passed
+     */
+    private static boolean pause(long deadline) throws ServletException {
+        if (System.nanoTime() - deadline >= 0) {
+            return false;
+        }
+        try {
+            Thread.sleep(POLL_INTERVAL_MILLIS);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServletException(e);
+        }
+    }
+
+    private Optional<StoredResponse> await(CompletableFuture<Optional<StoredResponse>> running) throws ServletException {
+        try {
+            return running.get(properties.getInFlightTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServletException(e);
+        } catch (ExecutionException e) {
+            throw new ServletException(e.getCause());
+        }
+    }
+
+    private void replay(StoredResponse stored, String fingerprint, HttpServletResponse response, String outcome)
+            throws IOException {
+        if (!stored.getFingerprint().equals(fingerprint)) {
+            count("mismatch");
+            reject(response, HttpStatus.UNPROCESSABLE_ENTITY,
+                    "Ключ идемпотентности уже использован для другого запроса");
+            return;
+        }
+        count(outcome);
+        response.setStatus(stored.getStatus());
+        if (stored.getContentType() != null) {
+            response.setContentType(stored.getContentType());
+        }
+        if (stored.getLocation() != null) {
+            response.setHeader(HttpHeaders.LOCATION, stored.getLocation());
+        }
+        response.setHeader(REPLAYED_HEADER, "true");
+        response.setContentLength(stored.getBody().length);
+        response.getOutputStream().write(stored.getBody());
+    }
+
+    private void reject(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        objectMapper.writeValue(response.getOutputStream(), new ErrorResponse(message));
+    }
+
+    private void count(String outcome) {
+        registry.counter("shareit.idempotency", "outcome", outcome).increment();
+    }
+
+    /**
+     * Hash of the query string and the body, parameters such as approved of PATCH /bookings/{id} are part of it
+     */
+    private static String fingerprint(String query, byte[] body) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            // requests without a query keep the fingerprint of the body alone, as stored before
+            if (query != null) {
+                digest.update(query.getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) '\n');
+            }
+            return HexFormat.of().formatHex(digest.digest(body));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record Endpoint(String method, PathPattern pattern) {
+        static Endpoint parse(String endpoint) {
+            String[] parts = endpoint.trim().split("\\s+", 2);
+            return new Endpoint(parts[0], PathPatternParser.defaultInstance.parse(parts[1]));
+        }
+
+        boolean matches(String requestMethod, PathContainer path) {
+            return method.equalsIgnoreCase(requestMethod) && pattern.matches(path);
+        }
+    }
+
+    /**
+     * Request with the body read up front, so the body can be fingerprinted and still read by controllers
+     */
+    private static class CachedBodyRequest extends HttpServletRequestWrapper {
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request) throws IOException {
+            super(request);
+            this.body = StreamUtils.copyToByteArray(request.getInputStream());
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream input = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return input.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    throw new IllegalStateException(
+                            "Асинхронное чтение тела запроса с ключом идемпотентности не поддерживается");
+                }
+
+                @Override
+                public int read() {
+                    return input.read();
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) {
+                    return input.read(buffer, offset, length);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            return new BufferedReader(new InputStreamReader(getInputStream(), StandardCharsets.UTF_8));
+        }
+    }
+}
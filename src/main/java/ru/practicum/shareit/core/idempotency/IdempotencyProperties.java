@@ -0,0 +1,34 @@
+package ru.practicum.shareit.core.idempotency;
+
+import lombok.AccessLevel;
+import lombok.Data;
+import lombok.experimental.FieldDefaults;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@ConfigurationProperties(prefix = "shareit.idempotency")
+public class IdempotencyProperties {
+    boolean enabled = true;
+    Store store = Store.MEMORY;
+    Duration ttl = Duration.ofHours(24);
+    long maximumSize = 100_000;
+    Duration inFlightTimeout = Duration.ofSeconds(30);
+    /**
+     * Endpoints accepting the Idempotency-Key header as "METHOD path-pattern"
+     */
+    List<String> endpoints = new ArrayList<>(List.of(
+            "POST /bookings",
+            "POST /bookings/batch",
+            "PATCH /bookings/{bookingId}",
+            "POST /items"));
+
+    public enum Store {
+        MEMORY,
+        JDBC
+    }
+}
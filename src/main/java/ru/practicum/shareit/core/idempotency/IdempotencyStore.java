@@ -0,0 +1,28 @@
+package ru.practicum.shareit.core.idempotency;
+
+import java.util.Optional;
+
+/**
+ * Bounded store of responses by idempotency key, entries expire after shareit.idempotency.ttl.
+ * A request claims its key before it runs, so a duplicate arriving at any instance sees it in flight.
+ */
+public interface IdempotencyStore {
+
+    Optional<StoredResponse> get(String key);
+
+    /**
+     * Marks the key as executing. Returns false when the key is already claimed and not released, a claim left
+     * by a crashed request lapses after shareit.idempotency.in-flight-timeout.
+     */
+    boolean claim(String key);
+
+    /**
+     * Stores the response of the claimed key
+     */
+    void put(String key, StoredResponse response);
+
+    /**
+     * Drops the claim of a request whose response is not stored, so the key can be used again
+     */
+    void release(String key);
+}
@@ -0,0 +1,77 @@
+package ru.practicum.shareit.core.idempotency;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Store in the idempotency_keys table shared by all instances. A claim is a row with status 0 and no body,
+ * the primary key lets only one instance insert it. Expired rows are ignored on read and deleted periodically.
+ */
+@Slf4j
+public class JdbcIdempotencyStore implements IdempotencyStore {
+    private static final int CLAIMED = 0;
+    private static final byte[] NO_BODY = new byte[0];
+
+    private final JdbcTemplate jdbc;
+    private final Duration ttl;
+    private final Duration inFlightTimeout;
+
+    public JdbcIdempotencyStore(JdbcTemplate jdbc, IdempotencyProperties properties) {
+        this.jdbc = jdbc;
+        this.ttl = properties.getTtl();
+        this.inFlightTimeout = properties.getInFlightTimeout();
+    }
+
+    @Override
+    public Optional<StoredResponse> get(String key) {
+        return jdbc.query("select fingerprint, status, content_type, location, body from idempotency_keys " +
+                                "where idempotency_key = ? and status <> ? and created > ?",
+                        (rs, rowNum) -> new StoredResponse(rs.getString("fingerprint"), rs.getInt("status"),
+                                rs.getString("content_type"), rs.getString("location"), rs.getBytes("body")),
+                        key, CLAIMED, LocalDateTime.now().minus(ttl))
+                .stream()
+                .findFirst();
+    }
+
+    @Override
+    public boolean claim(String key) {
+        LocalDateTime now = LocalDateTime.now();
+        jdbc.update("delete from idempotency_keys where idempotency_key = ? and (created <= ? or (status = ? and created <= ?))",
+                key, now.minus(ttl), CLAIMED, now.minus(inFlightTimeout));
+        try {
+            jdbc.update("insert into idempotency_keys (idempotency_key, fingerprint, status, body, created) " +
+                    "values (?, '', ?, ?, ?)", key, CLAIMED, NO_BODY, now);
+            return true;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public void put(String key, StoredResponse response) {
+        int updated = jdbc.update("update idempotency_keys set fingerprint = ?, status = ?, content_type = ?, " +
+                        "location = ?, body = ?, created = ? where idempotency_key = ? and status = ?",
+                response.getFingerprint(), response.getStatus(), response.getContentType(), response.getLocation(),
+                response.getBody(), LocalDateTime.now(), key, CLAIMED);
+        if (updated == 0) {
+            log.warn("JdbcIdempotencyStore/put claim of key {} lapsed before the response was stored", key);
+        }
+    }
+
+    @Override
+    public void release(String key) {
+        jdbc.update("delete from idempotency_keys where idempotency_key = ? and status = ?", key, CLAIMED);
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.idempotency.cleanup-delay:PT10M}")
+    public void deleteExpired() {
+        int deleted = jdbc.update("delete from idempotency_keys where created <= ?", LocalDateTime.now().minus(ttl));
+        log.info("JdbcIdempotencyStore/deleteExpired deleted {} keys", deleted);
+    }
+}
@@ -0,0 +1,21 @@
+package ru.practicum.shareit.core.idempotency;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * Response of a request executed with an idempotency key, with the fingerprint of the request body
+ * to recognize a key reused for a different request
+ */
+@Getter
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class StoredResponse {
+    String fingerprint;
+    int status;
+    String contentType;
+    String location;
+    byte[] body;
+}
@@ -0,0 +1,15 @@
+package ru.practicum.shareit.core.metrics;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+@Configuration
+public class MetricsConfig {
+    @Bean
+    MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(ObjectMapper objectMapper,
+                                                                            PhaseMetrics phaseMetrics) {
+        return new TimedJackson2HttpMessageConverter(objectMapper, phaseMetrics);
+    }
+}
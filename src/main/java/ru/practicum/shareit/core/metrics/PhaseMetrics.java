@@ -0,0 +1,37 @@
+package ru.practicum.shareit.core.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Timers of request processing phases: database query, entity to dto mapping with lazy loading
+ * and json serialization. Tagged by endpoint and booking state, published with percentile histograms.
+ */
+@Component
+@RequiredArgsConstructor
+public class PhaseMetrics {
+    public static final String METRIC_NAME = "shareit.phase";
+    public static final String QUERY = "query";
+    public static final String MAPPING = "mapping";
+    public static final String SERIALIZATION = "serialization";
+    public static final String NO_STATE = "none";
+
+    private final MeterRegistry registry;
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+    public Timer timer(String phase, String endpoint, Object state) {
+        String stateTag = state == null ? NO_STATE : state.toString();
+        return timers.computeIfAbsent(phase + ' ' + endpoint + ' ' + stateTag, key -> Timer.builder(METRIC_NAME)
+                .description("Duration of a request processing phase")
+                .tag("phase", phase)
+                .tag("endpoint", endpoint)
+                .tag("state", stateTag)
+                .publishPercentileHistogram()
+                .register(registry));
+    }
+}
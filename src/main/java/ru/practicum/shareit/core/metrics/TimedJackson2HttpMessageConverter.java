@@ -0,0 +1,61 @@
+package ru.practicum.shareit.core.metrics;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.lang.Nullable;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+import ru.practicum.shareit.booking.model.BookingState;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson converter recording the serialization phase of every response body
+ */
+public class TimedJackson2HttpMessageConverter extends MappingJackson2HttpMessageConverter {
+    private static final String UNKNOWN_ENDPOINT = "unknown";
+
+    private final PhaseMetrics phaseMetrics;
+
+    public TimedJackson2HttpMessageConverter(ObjectMapper objectMapper, PhaseMetrics phaseMetrics) {
+        super(objectMapper);
+        this.phaseMetrics = phaseMetrics;
+    }
+
+    @Override
+    protected void writeInternal(Object object, @Nullable Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        long start = System.nanoTime();
+        try {
+            super.writeInternal(object, type, outputMessage);
+        } finally {
+            RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+            phaseMetrics.timer(PhaseMetrics.SERIALIZATION, endpoint(attributes), state(attributes))
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private static String endpoint(RequestAttributes attributes) {
+        Object pattern = attributes == null ? null
+                : attributes.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        return pattern == null ? UNKNOWN_ENDPOINT : pattern.toString();
+    }
+
+    private static BookingState state(RequestAttributes attributes) {
+        if (!(attributes instanceof ServletRequestAttributes servletAttributes)) {
+            return null;
+        }
+        String state = servletAttributes.getRequest().getParameter("state");
+        return Arrays.stream(BookingState.values())
+                .filter(value -> value.name().equals(state))
+                .findFirst()
+                .orElse(null);
+    }
+}
@@ -0,0 +1,61 @@
+package ru.practicum.shareit.core.pagination;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+import lombok.experimental.FieldDefaults;
+import org.springframework.data.domain.ScrollPosition;
+import ru.practicum.shareit.core.exception.WrongArgumentException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Map;
+
+/**
+ * Opaque cursor pointing at the last row of a page ordered by a timestamp and an id
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class KeysetCursor {
+    /**
+     * Response header carrying the cursor of the next page, absent on the last page
+     */
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private static final String SEPARATOR = "|";
+
+    LocalDateTime timestamp;
+    Long id;
+
+    public String encode() {
+        String value = timestamp + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static KeysetCursor decode(String cursor) {
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = value.lastIndexOf(SEPARATOR);
+            return new KeysetCursor(LocalDateTime.parse(value.substring(0, separator)),
+                    Long.parseLong(value.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new WrongArgumentException("Некорректный курсор страницы: " + cursor);
+        }
+    }
+
+    /**
+     * Converts the cursor to a keyset position for a query sorted by timestampProperty and id.
+     * Missing cursor means the first page.
+     */
+    public static ScrollPosition position(String cursor, String timestampProperty) {
+        if (cursor == null || cursor.isBlank()) {
+            return ScrollPosition.keyset();
+        }
+        KeysetCursor keyset = decode(cursor);
+        return ScrollPosition.forward(Map.of(timestampProperty, keyset.getTimestamp(), "id", keyset.getId()));
+    }
+}
@@ -0,0 +1,21 @@
+package ru.practicum.shareit.core.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Per-user rate limits of the endpoint groups in shareit.rate-limit.groups
+ */
+@Configuration
+@ConditionalOnProperty(name = "shareit.rate-limit.enabled", matchIfMissing = true)
+@EnableConfigurationProperties(RateLimitProperties.class)
+public class RateLimitConfig {
+    @Bean
+    RateLimitFilter rateLimitFilter(RateLimitProperties properties, ObjectMapper objectMapper, MeterRegistry registry) {
+        return new RateLimitFilter(properties, objectMapper, registry);
+    }
+}
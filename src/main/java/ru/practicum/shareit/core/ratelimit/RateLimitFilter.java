@@ -0,0 +1,111 @@
+package ru.practicum.shareit.core.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import ru.practicum.shareit.core.exception.model.ErrorResponse;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limits requests of every user (X-Sharer-User-Id, the client address without it) per endpoint group.
+ * Runs ahead of the dispatcher, so a rejected request is answered with 429 before its body is read.
+ */
+public class RateLimitFilter extends OncePerRequestFilter implements Ordered {
+    private static final String USER_HEADER = "X-Sharer-User-Id";
+
+    private final List<Group> groups = new ArrayList<>();
+    private final ObjectMapper objectMapper;
+
+    public RateLimitFilter(RateLimitProperties properties, ObjectMapper objectMapper, MeterRegistry registry) {
+        this.objectMapper = objectMapper;
+        for (Map.Entry<String, RateLimitProperties.Group> entry : properties.getGroups().entrySet()) {
+            RateLimitProperties.Group group = entry.getValue();
+            groups.add(new Group(
+                    group.getEndpoints().stream().map(Endpoint::parse).toList(),
+                    new RateLimiter(group.getLimit(), group.getPeriod(), group.getBurst(), properties.getMaximumUsers()),
+                    Counter.builder("shareit.rate-limit.rejected")
+                            .description("Requests rejected by the rate limit")
+                            .tag("group", entry.getKey())
+                            .register(registry)));
+        }
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE + 10;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Group group = findGroup(request);
+        if (group == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+        String user = request.getHeader(USER_HEADER);
+        long wait = group.limiter.tryAcquire(user != null ? user : request.getRemoteAddr());
+        if (wait == 0) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        group.rejected.increment();
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, ceilSeconds(wait))));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        objectMapper.writeValue(response.getOutputStream(), new ErrorResponse("Превышен лимит запросов"));
+    }
+
+    private Group findGroup(HttpServletRequest request) {
+        if (groups.isEmpty()) {
+            return null;
+        }
+        PathContainer path = PathContainer.parsePath(request.getRequestURI().substring(request.getContextPath().length()));
+        for (Group group : groups) {
+            for (Endpoint endpoint : group.endpoints) {
+                if (endpoint.matches(request.getMethod(), path)) {
+                    return group;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static long ceilSeconds(long nanos) {
+        return (nanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1);
+    }
+
+    private record Group(List<Endpoint> endpoints, RateLimiter limiter, Counter rejected) {
+    }
+
+    private record Endpoint(String method, PathPattern pattern) {
+        static Endpoint parse(String endpoint) {
+            String[] parts = endpoint.trim().split("\\s+", 2);
+            return new Endpoint(parts[0], PathPatternParser.defaultInstance.parse(parts[1]));
+        }
+
+        boolean matches(String requestMethod, PathContainer path) {
+            return (method.equals("*") || method.equalsIgnoreCase(requestMethod)) && pattern.matches(path);
+        }
+    }
+}
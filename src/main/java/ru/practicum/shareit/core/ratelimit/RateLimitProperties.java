@@ -0,0 +1,45 @@
+package ru.practicum.shareit.core.ratelimit;
+
+import lombok.AccessLevel;
+import lombok.Data;
+import lombok.experimental.FieldDefaults;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@ConfigurationProperties(prefix = "shareit.rate-limit")
+public class RateLimitProperties {
+    boolean enabled = true;
+    /**
+     * Users with limiter state kept, the least recently seen are dropped first
+     */
+    long maximumUsers = 100_000;
+    /**
+     * Endpoint groups, a request is limited by the first group with a matching endpoint
+     */
+    Map<String, Group> groups = new LinkedHashMap<>();
+
+    @Data
+    @FieldDefaults(level = AccessLevel.PRIVATE)
+    public static class Group {
+        /**
+         * Endpoints as "METHOD path-pattern", "*" matches any method
+         */
+        List<String> endpoints = new ArrayList<>();
+        /**
+         * Requests per period a user may send in the long run
+         */
+        long limit;
+        Duration period = Duration.ofSeconds(1);
+        /**
+         * Requests a user may send at once above the steady rate
+         */
+        long burst;
+    }
+}
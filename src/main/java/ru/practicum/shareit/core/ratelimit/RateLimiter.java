@@ -0,0 +1,58 @@
+package ru.practicum.shareit.core.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Token bucket in its GCRA form: the state of a key is a single theoretical arrival time, updated by
+ * compare-and-set, so checking a request takes no lock. Keys live in a bounded Caffeine cache and are
+ * dropped once idle for longer than it takes a full bucket to refill.
+ */
+public class RateLimiter {
+    private final long emissionInterval;
+    private final long burstTolerance;
+    private final Cache<String, AtomicLong> arrivals;
+    private final LongSupplier clock;
+
+    public RateLimiter(long limit, Duration period, long burst, long maximumKeys) {
+        this(limit, period, burst, maximumKeys, System::nanoTime);
+    }
+
+    RateLimiter(long limit, Duration period, long burst, long maximumKeys, LongSupplier clock) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Rate limit must be positive");
+        }
+        this.emissionInterval = period.toNanos() / limit;
+        this.burstTolerance = emissionInterval * burst;
+        this.clock = clock;
+        this.arrivals = Caffeine.newBuilder()
+                .maximumSize(maximumKeys)
+                .expireAfterAccess(Duration.ofNanos(emissionInterval + burstTolerance))
+                .build();
+    }
+
+    /**
+     * Takes a permit for the key
+     *
+     * @return 0 when the request is allowed, otherwise nanoseconds to wait until it would be
+     */
+    public long tryAcquire(String key) {
+        AtomicLong arrival = arrivals.get(key, k -> new AtomicLong(Long.MIN_VALUE));
+        while (true) {
+            long now = clock.getAsLong();
+            long current = arrival.get();
+            long theoretical = current == Long.MIN_VALUE || current - now < 0 ? now : current;
+            long wait = theoretical - burstTolerance - now;
+            if (wait > 0) {
+                return wait;
+            }
+            if (arrival.compareAndSet(current, theoretical + emissionInterval)) {
+                return 0;
+            }
+        }
+    }
+}
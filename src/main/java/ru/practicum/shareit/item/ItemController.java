@@ -1,13 +1,22 @@
 package ru.practicum.shareit.item;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import ru.practicum.shareit.item.dto.*;
+import ru.practicum.shareit.item.service.ItemImportService;
 import ru.practicum.shareit.item.service.ItemService;
 
+import java.io.InputStream;
+import java.time.LocalDateTime;
 import java.util.Collection;
+import java.util.List;
 
 /**
  * API for Item
@@ -17,14 +26,22 @@ import java.util.Collection;
 @RequiredArgsConstructor
 public class ItemController {
     private final ItemService itemService;
+    private final ItemImportService itemImportService;
 
     @GetMapping("/{itemId}")
-    public ItemDatesDto getById(@PathVariable(name = "itemId") Long itemId) {
+    public ItemDatesDto getById(@PathVariable(name = "itemId") Long itemId, WebRequest request) {
+        if (request.checkNotModified(itemService.getItemETag(itemId))) {
+            return null;
+        }
         return itemService.getItemDateDtoById(itemId);
     }
 
     @GetMapping
-    public Collection<ItemDatesDto> getByOwnerId(@RequestHeader("X-Sharer-User-Id") Long userId) {
+    public Collection<ItemDatesDto> getByOwnerId(@RequestHeader("X-Sharer-User-Id") Long userId, WebRequest request) {
+        String etag = itemService.getOwnerItemsETag(userId);
+        if (etag != null && request.checkNotModified(etag)) {
+            return null;
+        }
         return itemService.getByOwnerId(userId);
     }
 
@@ -35,6 +52,16 @@ public class ItemController {
         return itemService.add(item, userId);
     }
 
+    @PostMapping(path = "/import", consumes = "text/csv")
+    public ItemImportResultDto importCsv(@RequestHeader("X-Sharer-User-Id") Long userId, InputStream body) {
+        return itemImportService.importItems(userId, ItemImportService.Format.CSV, body);
+    }
+
+    @PostMapping(path = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ItemImportResultDto importNdjson(@RequestHeader("X-Sharer-User-Id") Long userId, InputStream body) {
+        return itemImportService.importItems(userId, ItemImportService.Format.NDJSON, body);
+    }
+
     @PatchMapping("/{itemId}")
     public ItemDto update(@RequestHeader("X-Sharer-User-Id") Long userId,
                           @PathVariable(name = "itemId") Long itemId,
@@ -42,9 +69,26 @@ public class ItemController {
         return itemService.update(item, itemId, userId);
     }
 
+    @GetMapping("/{itemId}/availability")
+    public ItemAvailabilityDto getAvailability(@PathVariable(name = "itemId") Long itemId,
+                                               @RequestParam(required = false)
+                                               @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                               @RequestParam(required = false)
+                                               @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return itemService.getAvailability(itemId, from, to);
+    }
+
+    @GetMapping("/suggest")
+    public List<ItemSuggestionDto> suggest(@RequestParam(value = "prefix") String prefix,
+                                           @RequestParam(defaultValue = "10") @Positive Integer size) {
+        return itemService.suggest(prefix, size);
+    }
+
     @GetMapping("/search")
-    public Collection<ItemDto> search(@RequestParam(value = "text") String text) {
-        return itemService.search(text);
+    public Collection<ItemDto> search(@RequestParam(value = "text") String text,
+                                      @RequestParam(defaultValue = "0") @PositiveOrZero Integer from,
+                                      @RequestParam(required = false) @Positive Integer size) {
+        return itemService.search(text, from, size);
     }
 
     @PostMapping("/{itemId}/comment")
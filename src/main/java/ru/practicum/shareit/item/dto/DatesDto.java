@@ -11,6 +11,8 @@ import lombok.experimental.FieldDefaults;
 @NoArgsConstructor
 @AllArgsConstructor
 public class DatesDto {
+    Long id;
+    Long bookerId;
     String start;
     String end;
 }
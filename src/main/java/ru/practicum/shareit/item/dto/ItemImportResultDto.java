@@ -0,0 +1,23 @@
+package ru.practicum.shareit.item.dto;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+import java.util.List;
+
+/**
+ * Outcome of an item import. Errors list the first failed rows by line of the uploaded file,
+ * failed counts all of them.
+ */
+@Data
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@NoArgsConstructor
+@AllArgsConstructor
+public class ItemImportResultDto {
+    long imported;
+    long failed;
+    List<ItemImportErrorDto> errors;
+}
@@ -1,9 +1,9 @@
 package ru.practicum.shareit.item.mapper;
 
 import org.mapstruct.*;
-import ru.practicum.shareit.booking.model.BookingDates;
 import ru.practicum.shareit.core.mapper.JsonNullableMapper;
 import ru.practicum.shareit.item.dto.*;
+import ru.practicum.shareit.item.model.BookingSnapshot;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.dto.UserDto;
@@ -37,7 +37,8 @@ public interface ItemMapper {
     @Mapping(target = "id", source = "entity.id")
     ItemDatesDto map(Item entity, DatesDto lastBooking, DatesDto nextBooking, Collection<CommentResponseDto> comments);
 
-    DatesDto map(BookingDates dates);
+    @Mapping(target = "id", source = "bookingId")
+    DatesDto map(BookingSnapshot booking);
 
     @Mapping(target = "id", source = "entity.id")
     @Mapping(target = "authorName", source = "entity.author.name")
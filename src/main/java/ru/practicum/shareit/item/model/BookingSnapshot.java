@@ -0,0 +1,33 @@
+package ru.practicum.shareit.item.model;
+
+import jakarta.persistence.Embeddable;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+import ru.practicum.shareit.booking.model.Booking;
+
+import java.time.LocalDateTime;
+
+/**
+ * Copy of the booking fields shown next to an item
+ */
+@Embeddable
+@Getter
+@Setter
+@ToString
+@EqualsAndHashCode
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingSnapshot {
+    Long bookingId;
+    Long bookerId;
+    LocalDateTime start;
+    LocalDateTime end;
+
+    public static BookingSnapshot of(Booking booking) {
+        return new BookingSnapshot(booking.getId(),
+                booking.getBooker().getId(),
+                booking.getStartDate(),
+                booking.getEndDate());
+    }
+}
@@ -3,6 +3,8 @@ package ru.practicum.shareit.item.model;
 import jakarta.persistence.*;
 import lombok.*;
 import lombok.experimental.FieldDefaults;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import ru.practicum.shareit.user.model.User;
 
 /**
@@ -11,13 +13,16 @@ import ru.practicum.shareit.user.model.User;
 
 @Entity
 @Table(name = "items")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "items")
 @Getter
 @Setter
 @ToString
 @FieldDefaults(level = AccessLevel.PRIVATE)
 public class Item {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "item_seq")
+    @SequenceGenerator(name = "item_seq", sequenceName = "items_seq", allocationSize = 50)
     @Column(name = "item_id")
     Long id;
     String name;
@@ -29,6 +34,8 @@ public class Item {
     User owner;
     @Column(name = "request_id")
     Long requestId;
+    @Version
+    long version;
 
     @Override
     public boolean equals(Object o) {
@@ -0,0 +1,16 @@
+package ru.practicum.shareit.item.model;
+
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * Number of bookings ever made of an item
+ */
+@Getter
+@ToString
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@AllArgsConstructor
+public class ItemBookingCount {
+    Long itemId;
+    long count;
+}
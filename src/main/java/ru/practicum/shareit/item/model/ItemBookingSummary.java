@@ -0,0 +1,63 @@
+package ru.practicum.shareit.item.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.time.LocalDateTime;
+
+/**
+ * Denormalized last and next booking of an item relative to the moment it was maintained
+ */
+@Entity
+@Table(name = "item_booking_summary")
+@Getter
+@Setter
+@ToString
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@NoArgsConstructor
+public class ItemBookingSummary {
+    @Id
+    @Column(name = "item_id")
+    Long itemId;
+
+    @Embedded
+    @AttributeOverride(name = "bookingId", column = @Column(name = "last_booking_id"))
+    @AttributeOverride(name = "bookerId", column = @Column(name = "last_booker_id"))
+    @AttributeOverride(name = "start", column = @Column(name = "last_start_date"))
+    @AttributeOverride(name = "end", column = @Column(name = "last_end_date"))
+    BookingSnapshot last;
+
+    @Embedded
+    @AttributeOverride(name = "bookingId", column = @Column(name = "next_booking_id"))
+    @AttributeOverride(name = "bookerId", column = @Column(name = "next_booker_id"))
+    @AttributeOverride(name = "start", column = @Column(name = "next_start_date"))
+    @AttributeOverride(name = "end", column = @Column(name = "next_end_date"))
+    BookingSnapshot next;
+
+    @Version
+    long version;
+
+    public ItemBookingSummary(Long itemId) {
+        this.itemId = itemId;
+    }
+
+    /**
+     * Next booking has already started, so both values have to be recomputed
+     */
+    public boolean isStale(LocalDateTime now) {
+        return next != null && next.getStart().isBefore(now);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof ItemBookingSummary)) return false;
+        return itemId != null && itemId.equals(((ItemBookingSummary) o).getItemId());
+    }
+
+    @Override
+    public int hashCode() {
+        return getClass().hashCode();
+    }
+}
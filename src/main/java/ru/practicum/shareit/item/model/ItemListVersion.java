@@ -0,0 +1,31 @@
+package ru.practicum.shareit.item.model;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * Versions of all items of an owner and of their booking summaries. Versions only grow, so the sums change
+ * with every update, the count changes with every new item.
+ */
+@Getter
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class ItemListVersion {
+    Long items;
+    Long itemVersions;
+    Long summaryVersions;
+    Long staleSummaries;
+
+    /**
+     * Null while some summary is stale: its last and next bookings are computed at read time
+     * and the stored versions do not describe the response
+     */
+    public String etag() {
+        if (staleSummaries > 0) {
+            return null;
+        }
+        return "items-" + items + "-" + itemVersions + "-" + summaryVersions;
+    }
+}
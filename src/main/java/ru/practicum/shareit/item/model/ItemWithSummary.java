@@ -0,0 +1,16 @@
+package ru.practicum.shareit.item.model;
+
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * Item read together with its booking summary, summary is null for items never booked
+ */
+@Getter
+@ToString
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@AllArgsConstructor
+public class ItemWithSummary {
+    Item item;
+    ItemBookingSummary summary;
+}
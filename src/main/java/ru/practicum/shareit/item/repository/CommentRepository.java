@@ -1,13 +1,30 @@
 package ru.practicum.shareit.item.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import ru.practicum.shareit.item.model.Comment;
 
 import java.util.Collection;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
 
-    Collection<Comment> findByItemIdIn(Collection<Long> items);
+    Collection<Comment> findByItem_OwnerId(Long ownerId);
 
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "comments-by-item")
+    })
     Collection<Comment> findByItemId(Long itemId);
+
+    /**
+     * Versions of the comment authors of an item, responses show their names
+     */
+    @Query(" select coalesce(sum(c.author.version), 0) from Comment c where c.item.id = ?1")
+    long sumAuthorVersionsByItemId(Long itemId);
+
+    @Query(" select coalesce(sum(c.author.version), 0) from Comment c where c.item.owner.id = ?1")
+    long sumAuthorVersionsByItemOwnerId(Long ownerId);
 }
@@ -0,0 +1,18 @@
+package ru.practicum.shareit.item.repository;
+
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import ru.practicum.shareit.item.model.ItemBookingSummary;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface ItemBookingSummaryRepository extends JpaRepository<ItemBookingSummary, Long> {
+
+    /**
+     * Locks summaries in id order, so concurrent refreshes of overlapping items can not deadlock
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<ItemBookingSummary> findForUpdateByItemIdInOrderByItemIdAsc(Collection<Long> itemIds);
+}
@@ -1,18 +1,51 @@
 package ru.practicum.shareit.item.repository;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemListVersion;
+import ru.practicum.shareit.item.model.ItemWithSummary;
 
+import java.time.LocalDateTime;
 import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 public interface ItemRepository extends JpaRepository<Item, Long> {
     Collection<Item> findByOwnerId(Long ownerId);
 
+    Collection<Item> findByRequestIdIn(Collection<Long> requestIds);
+
+    @Query(" select new ru.practicum.shareit.item.model.ItemWithSummary(i, s) " +
+            " from Item i " +
+            " left join ItemBookingSummary s on s.itemId = i.id " +
+            "where i.owner.id = ?1 " +
+            "order by i.id")
+    Collection<ItemWithSummary> findWithSummaryByOwnerId(Long ownerId);
+
+    @Query(" select i.version from Item i where i.id = ?1")
+    Optional<Long> findVersionById(Long itemId);
+
+    @Query(" select new ru.practicum.shareit.item.model.ItemListVersion(" +
+            "        count(i), " +
+            "        coalesce(sum(i.version), 0), " +
+            "        coalesce(sum(s.version), 0), " +
+            "        coalesce(sum(case when s.next.start < ?2 then 1 else 0 end), 0)) " +
+            " from Item i " +
+            " left join ItemBookingSummary s on s.itemId = i.id " +
+            "where i.owner.id = ?1")
+    ItemListVersion findListVersionByOwnerId(Long ownerId, LocalDateTime now);
+
+    List<Item> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    List<Item> findByAvailableTrueAndIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
     @Query(value = "select i from Item i " +
             "where (upper(i.name) like upper(concat('%', ?1, '%')) " +
             "   or upper(i.description) like upper(concat('%', ?1, '%'))) " +
             "  and i.available=true" +
             "  and length(trim(concat('',?1))) > 0")
-    Collection<Item> search(String text);
+    Collection<Item> search(String text, Pageable pageable);
 }
@@ -0,0 +1,156 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory inverted index over names and descriptions of available items.
+ * Terms are case folded and matched by prefix, name matches rank above description matches.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ItemSearchIndex {
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final int NAME_WEIGHT = 2;
+    private static final int DESCRIPTION_WEIGHT = 1;
+    private static final int REBUILD_CHUNK_SIZE = 1000;
+
+    private final ItemRepository itemRepository;
+
+    private final ConcurrentNavigableMap<String, Map<Long, Integer>> postings = new ConcurrentSkipListMap<>();
+    private final Map<Long, Map<String, Integer>> documents = new ConcurrentHashMap<>();
+    private volatile boolean ready;
+
+    @Value("${shareit.search.index.enabled:true}")
+    private boolean enabled;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!enabled) {
+            log.info("ItemSearchIndex/rebuild: index disabled, search falls back to database query");
+            return;
+        }
+        ready = false;
+        synchronized (this) {
+            postings.clear();
+            documents.clear();
+        }
+        long lastId = 0;
+        List<Item> chunk;
+        do {
+            chunk = itemRepository.findByAvailableTrueAndIdGreaterThanOrderByIdAsc(lastId, Limit.of(REBUILD_CHUNK_SIZE));
+            chunk.forEach(this::index);
+            if (!chunk.isEmpty()) {
+                lastId = chunk.get(chunk.size() - 1).getId();
+            }
+        } while (chunk.size() == REBUILD_CHUNK_SIZE);
+        ready = true;
+        log.info("ItemSearchIndex/rebuild: indexed {} items, {} terms", documents.size(), postings.size());
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Adds the item to the index or replaces its previous terms. Unavailable items are removed.
+     */
+    public synchronized void index(Item item) {
+        remove(item.getId());
+        if (!Boolean.TRUE.equals(item.getAvailable())) {
+            return;
+        }
+        Map<String, Integer> terms = new HashMap<>();
+        addTerms(terms, item.getName(), NAME_WEIGHT);
+        addTerms(terms, item.getDescription(), DESCRIPTION_WEIGHT);
+        terms.forEach((term, weight) -> postings
+                .computeIfAbsent(term, key -> new ConcurrentHashMap<>())
+                .put(item.getId(), weight));
+        documents.put(item.getId(), terms);
+    }
+
+    public synchronized void remove(Long itemId) {
+        Map<String, Integer> terms = documents.remove(itemId);
+        if (terms == null) {
+            return;
+        }
+        terms.keySet().forEach(term -> postings.computeIfPresent(term, (key, posting) -> {
+            posting.remove(itemId);
+            return posting.isEmpty() ? null : posting;
+        }));
+    }
+
+    /**
+     * Returns ids of items containing every term of the text, best matches first
+     */
+    public List<Long> search(String text, int from, int size) {
+        Set<String> terms = new LinkedHashSet<>();
+        addTerms(terms, text);
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, Integer> scores = null;
+        for (String term : terms) {
+            Map<Long, Integer> matches = match(term);
+            if (scores == null) {
+                scores = matches;
+            } else {
+                scores.keySet().retainAll(matches.keySet());
+                scores.replaceAll((itemId, score) -> score + matches.get(itemId));
+            }
+            if (scores.isEmpty()) {
+                return List.of();
+            }
+        }
+
+        return scores.entrySet()
+                .stream()
+                .sorted((a, b) -> a.getValue().equals(b.getValue())
+                        ? Long.compare(a.getKey(), b.getKey())
+                        : Integer.compare(b.getValue(), a.getValue()))
+                .skip(from)
+                .limit(size)
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    private Map<Long, Integer> match(String term) {
+        Map<Long, Integer> matches = new HashMap<>();
+        postings.subMap(term, true, term + Character.MAX_VALUE, true)
+                .values()
+                .forEach(posting -> posting.forEach((itemId, weight) -> matches.merge(itemId, weight, Integer::sum)));
+        return matches;
+    }
+
+    private static void addTerms(Map<String, Integer> terms, String text, int weight) {
+        Set<String> tokens = new HashSet<>();
+        addTerms(tokens, text);
+        tokens.forEach(token -> terms.merge(token, weight, Integer::sum));
+    }
+
+    private static void addTerms(Set<String> terms, String text) {
+        if (text == null) {
+            return;
+        }
+        for (String token : TOKEN_SEPARATOR.split(text.toLowerCase(Locale.ROOT))) {
+            if (!token.isEmpty()) {
+                terms.add(token);
+            }
+        }
+    }
+}
@@ -0,0 +1,333 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Trie over names of available items for typeahead. An item is reachable by its whole name and from the start
+ * of every word of the name. Nodes up to TOP_DEPTH characters deep keep the best items below them, ranked by
+ * booking count, so a short prefix is a walk down the trie; the few items below a longer prefix are ranked on
+ * the fly. Nodes publish new arrays on change, readers take no lock.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ItemSuggestIndex {
+    public static final int MAX_SUGGESTIONS = 10;
+    private static final Pattern WORD_START = Pattern.compile("(?<![\\p{L}\\p{N}])[\\p{L}\\p{N}]");
+    private static final int MAX_KEY_LENGTH = 64;
+    private static final int TOP_DEPTH = 8;
+    private static final int REBUILD_CHUNK_SIZE = 1000;
+    private static final long[] NONE = new long[0];
+
+    private final ItemRepository itemRepository;
+    private final BookingRepository bookingRepository;
+
+    private final Node root = new Node();
+    /**
+     * Entries of indexed items, unavailable items keep an entry without keys to remember their booking count
+     */
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+
+    @Value("${shareit.search.index.enabled:true}")
+    private boolean enabled;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        Map<Long, Long> bookingCounts = new HashMap<>();
+        bookingRepository.countByItem().forEach(count -> bookingCounts.put(count.getItemId(), count.getCount()));
+        long lastId = 0;
+        List<Item> chunk;
+        do {
+            chunk = itemRepository.findByAvailableTrueAndIdGreaterThanOrderByIdAsc(lastId, Limit.of(REBUILD_CHUNK_SIZE));
+            chunk.forEach(item -> index(item, bookingCounts.getOrDefault(item.getId(), 0L)));
+            if (!chunk.isEmpty()) {
+                lastId = chunk.get(chunk.size() - 1).getId();
+            }
+        } while (chunk.size() == REBUILD_CHUNK_SIZE);
+        log.info("ItemSuggestIndex/rebuild: indexed {} items", entries.size());
+    }
+
+    /**
+     * Adds the item or replaces its previous name keeping its booking count. Unavailable items are not suggested.
+     */
+    public synchronized void index(Item item) {
+        Entry previous = entries.get(item.getId());
+        index(item, previous == null ? 0 : previous.weight);
+    }
+
+    private synchronized void index(Item item, long weight) {
+        remove(item.getId());
+        if (!Boolean.TRUE.equals(item.getAvailable()) || item.getName() == null || item.getName().isBlank()) {
+            entries.put(item.getId(), new Entry(item.getName(), List.of(), weight));
+            return;
+        }
+        Entry entry = new Entry(item.getName(), keys(item.getName()), weight);
+        entries.put(item.getId(), entry);
+        for (String key : entry.keys) {
+            List<Node> path = path(key, true);
+            Node last = path.get(path.size() - 1);
+            last.terminals = append(last.terminals, item.getId());
+            updateTop(path);
+        }
+    }
+
+    public synchronized void remove(Long itemId) {
+        Entry entry = entries.remove(itemId);
+        if (entry == null) {
+            return;
+        }
+        for (String key : entry.keys) {
+            List<Node> path = path(key, false);
+            Node last = path.get(path.size() - 1);
+            last.terminals = removeValue(last.terminals, itemId);
+            updateTop(path);
+            prune(key, path);
+        }
+    }
+
+    /**
+     * Adds bookings to the popularity of the item
+     */
+    public synchronized void addBookings(Long itemId, long bookings) {
+        Entry entry = entries.get(itemId);
+        if (entry == null) {
+            return;
+        }
+        entry.weight += bookings;
+        for (String key : entry.keys) {
+            updateTop(path(key, false));
+        }
+    }
+
+    /**
+     * Returns ids and names of the most booked items with a name or a word of the name starting with the prefix
+     */
+    public List<Map.Entry<Long, String>> suggest(String prefix, int size) {
+        if (prefix == null || prefix.isBlank()) {
+            return List.of();
+        }
+        Node node = root;
+        String key = prefix.strip().toLowerCase(Locale.ROOT);
+        for (int i = 0; i < key.length() && node != null; i++) {
+            node = node.children.get(key.charAt(i));
+        }
+        if (node == null) {
+            return List.of();
+        }
+        long[] top = key.length() <= TOP_DEPTH ? node.top : rank(node);
+        List<Map.Entry<Long, String>> suggestions = new ArrayList<>();
+        for (int i = 0; i < top.length && suggestions.size() < size; i += 2) {
+            Entry entry = entries.get(top[i]);
+            if (entry != null) {
+                suggestions.add(Map.entry(top[i], entry.name));
+            }
+        }
+        return suggestions;
+    }
+
+    /**
+     * Best items with a key ending below the node, for nodes deeper than TOP_DEPTH
+     */
+    private long[] rank(Node node) {
+        Map<Long, Long> candidates = new HashMap<>();
+        Deque<Node> pending = new ArrayDeque<>();
+        pending.push(node);
+        while (!pending.isEmpty()) {
+            Node current = pending.pop();
+            for (long itemId : current.terminals) {
+                Entry entry = entries.get(itemId);
+                if (entry != null) {
+                    candidates.put(itemId, entry.weight);
+                }
+            }
+            for (Node child : current.children.nodes) {
+                pending.push(child);
+            }
+        }
+        return best(candidates);
+    }
+
+    /**
+     * Nodes from the root to the end of the key
+     */
+    private List<Node> path(String key, boolean create) {
+        List<Node> path = new ArrayList<>(key.length() + 1);
+        Node node = root;
+        path.add(node);
+        for (int i = 0; i < key.length(); i++) {
+            Node child = node.children.get(key.charAt(i));
+            if (child == null) {
+                if (!create) {
+                    break;
+                }
+                child = new Node();
+                node.children = node.children.with(key.charAt(i), child);
+            }
+            node = child;
+            path.add(node);
+        }
+        return path;
+    }
+
+    /**
+     * Recomputes the best items of the nodes from the end of the path up to the root, nodes deeper than
+     * TOP_DEPTH keep none. The node at index i of the path is i characters deep.
+     */
+    private void updateTop(List<Node> path) {
+        for (int i = Math.min(path.size() - 1, TOP_DEPTH); i >= 0; i--) {
+            Node node = path.get(i);
+            Map<Long, Long> candidates = new HashMap<>();
+            for (long itemId : node.terminals) {
+                candidates.put(itemId, entries.get(itemId).weight);
+            }
+            for (Node child : node.children.nodes) {
+                long[] top = i < TOP_DEPTH ? child.top : rank(child);
+                for (int j = 0; j < top.length; j += 2) {
+                    candidates.putIfAbsent(top[j], top[j + 1]);
+                }
+            }
+            long[] top = best(candidates);
+            if (Arrays.equals(top, node.top)) {
+                return;
+            }
+            node.top = top;
+        }
+    }
+
+    /**
+     * Unlinks nodes left without items below them
+     */
+    private void prune(String key, List<Node> path) {
+        for (int i = path.size() - 1; i > 0; i--) {
+            Node node = path.get(i);
+            if (node.terminals.length > 0 || node.children.keys.length > 0) {
+                return;
+            }
+            Node parent = path.get(i - 1);
+            parent.children = parent.children.without(key.charAt(i - 1));
+        }
+    }
+
+    /**
+     * Pairs of id and weight of the best candidates, best first
+     */
+    private static long[] best(Map<Long, Long> candidates) {
+        return candidates.entrySet()
+                .stream()
+                .sorted((a, b) -> a.getValue().equals(b.getValue())
+                        ? Long.compare(a.getKey(), b.getKey())
+                        : Long.compare(b.getValue(), a.getValue()))
+                .limit(MAX_SUGGESTIONS)
+                .flatMapToLong(candidate -> Arrays.stream(new long[]{candidate.getKey(), candidate.getValue()}))
+                .toArray();
+    }
+
+    private static List<String> keys(String name) {
+        String folded = name.strip().toLowerCase(Locale.ROOT);
+        Set<String> keys = new LinkedHashSet<>();
+        keys.add(truncate(folded));
+        WORD_START.matcher(folded).results().forEach(match -> keys.add(truncate(folded.substring(match.start()))));
+        return List.copyOf(keys);
+    }
+
+    private static String truncate(String key) {
+        return key.length() > MAX_KEY_LENGTH ? key.substring(0, MAX_KEY_LENGTH) : key;
+    }
+
+    private static long[] append(long[] values, long value) {
+        long[] result = Arrays.copyOf(values, values.length + 1);
+        result[values.length] = value;
+        return result;
+    }
+
+    private static long[] removeValue(long[] values, long value) {
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] == value) {
+                long[] result = new long[values.length - 1];
+                System.arraycopy(values, 0, result, 0, i);
+                System.arraycopy(values, i + 1, result, i, values.length - i - 1);
+                return result.length == 0 ? NONE : result;
+            }
+        }
+        return values;
+    }
+
+    private static class Entry {
+        final String name;
+        final List<String> keys;
+        volatile long weight;
+
+        Entry(String name, List<String> keys, long weight) {
+            this.name = name;
+            this.keys = keys;
+            this.weight = weight;
+        }
+    }
+
+    private static class Node {
+        volatile Children children = Children.EMPTY;
+        /**
+         * Best items below the node as pairs of id and booking count, best first, empty below TOP_DEPTH
+         */
+        volatile long[] top = NONE;
+        /**
+         * Items with a key ending at the node, changed under the index lock only
+         */
+        volatile long[] terminals = NONE;
+    }
+
+    /**
+     * Child nodes by character, keys sorted for binary search
+     */
+    private record Children(char[] keys, Node[] nodes) {
+        static final Children EMPTY = new Children(new char[0], new Node[0]);
+
+        Node get(char key) {
+            int index = Arrays.binarySearch(keys, key);
+            return index >= 0 ? nodes[index] : null;
+        }
+
+        Children with(char key, Node node) {
+            int index = -Arrays.binarySearch(keys, key) - 1;
+            char[] newKeys = new char[keys.length + 1];
+            Node[] newNodes = new Node[nodes.length + 1];
+            System.arraycopy(keys, 0, newKeys, 0, index);
+            System.arraycopy(nodes, 0, newNodes, 0, index);
+            newKeys[index] = key;
+            newNodes[index] = node;
+            System.arraycopy(keys, index, newKeys, index + 1, keys.length - index);
+            System.arraycopy(nodes, index, newNodes, index + 1, nodes.length - index);
+            return new Children(newKeys, newNodes);
+        }
+
+        Children without(char key) {
+            int index = Arrays.binarySearch(keys, key);
+            if (index < 0) {
+                return this;
+            }
+            char[] newKeys = new char[keys.length - 1];
+            Node[] newNodes = new Node[nodes.length - 1];
+            System.arraycopy(keys, 0, newKeys, 0, index);
+            System.arraycopy(nodes, 0, newNodes, 0, index);
+            System.arraycopy(keys, index + 1, newKeys, index, keys.length - index - 1);
+            System.arraycopy(nodes, index + 1, newNodes, index, nodes.length - index - 1);
+            return new Children(newKeys, newNodes);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.event.BookingChangedEvent;
+import ru.practicum.shareit.core.event.DomainEventHandler;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Adds created bookings to the popularity of items in the suggestion index
+ */
+@Component
+@RequiredArgsConstructor
+public class ItemSuggestWeightUpdater implements DomainEventHandler<BookingChangedEvent> {
+    private final ItemSuggestIndex suggestIndex;
+
+    @Override
+    public Class<BookingChangedEvent> eventType() {
+        return BookingChangedEvent.class;
+    }
+
+    @Override
+    public void handle(List<BookingChangedEvent> events) {
+        Map<Long, Long> created = new HashMap<>();
+        events.stream()
+                .filter(BookingChangedEvent::isCreated)
+                .forEach(event -> created.merge(event.getItemId(), 1L, Long::sum));
+        created.forEach(suggestIndex::addBookings);
+    }
+}
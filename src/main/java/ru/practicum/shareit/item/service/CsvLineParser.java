@@ -0,0 +1,47 @@
+package ru.practicum.shareit.item.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Splits one CSV record into fields. Fields may be quoted, a quote inside a quoted field is doubled;
+ * records spanning several lines are not supported.
+ */
+final class CsvLineParser {
+    private static final char SEPARATOR = ',';
+    private static final char QUOTE = '"';
+
+    private CsvLineParser() {
+    }
+
+    static List<String> split(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c != QUOTE) {
+                    field.append(c);
+                } else if (i + 1 < line.length() && line.charAt(i + 1) == QUOTE) {
+                    field.append(QUOTE);
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == QUOTE) {
+                quoted = true;
+            } else if (c == SEPARATOR) {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Незакрытые кавычки");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
@@ -0,0 +1,42 @@
+package ru.practicum.shareit.item.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.List;
+
+/**
+ * Periodically rebuilds item booking summaries from bookings, chunk by chunk.
+ * Repairs summaries whose next booking has started and rows missed by incremental maintenance.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ItemBookingSummaryReconciler {
+    private static final int CHUNK_SIZE = 500;
+
+    private final ItemRepository itemRepository;
+    private final ItemBookingSummaryService summaryService;
+
+    @Scheduled(initialDelayString = "${shareit.item-summary.reconcile-initial-delay:PT0S}",
+            fixedDelayString = "${shareit.item-summary.reconcile-delay:PT10M}")
+    public void reconcile() {
+        long lastId = 0;
+        int total = 0;
+        List<Item> chunk;
+        do {
+            chunk = itemRepository.findByIdGreaterThanOrderByIdAsc(lastId, Limit.of(CHUNK_SIZE));
+            if (!chunk.isEmpty()) {
+                summaryService.refresh(chunk.stream().map(Item::getId).toList());
+                lastId = chunk.get(chunk.size() - 1).getId();
+                total += chunk.size();
+            }
+        } while (chunk.size() == CHUNK_SIZE);
+        log.info("ItemBookingSummaryReconciler/reconcile: rebuilt summaries of {} items", total);
+    }
+}
@@ -0,0 +1,67 @@
+package ru.practicum.shareit.item.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.model.BookingSnapshot;
+import ru.practicum.shareit.item.model.ItemBookingSummary;
+import ru.practicum.shareit.item.repository.ItemBookingSummaryRepository;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Maintains last and next booking of items. Summaries of booked items are refreshed after commit
+ * by ItemBookingSummaryUpdater, compute and refresh rebuild them from bookings.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class ItemBookingSummaryService {
+    private static final Collection<BookingStatus> NOT_OCCUPYING = EnumSet.of(BookingStatus.REJECTED, BookingStatus.EXPIRED);
+
+    private final ItemBookingSummaryRepository summaryRepository;
+    private final BookingRepository bookingRepository;
+
+    /**
+     * Computes summaries of the items from bookings without storing them
+     */
+    public Map<Long, ItemBookingSummary> compute(Collection<Long> itemIds, LocalDateTime now) {
+        Map<Long, ItemBookingSummary> summaries = itemIds.stream()
+                .collect(Collectors.toMap(Function.identity(), ItemBookingSummary::new));
+        bookingRepository.findLastBookings(itemIds, now, NOT_OCCUPYING)
+                .forEach(booking -> summaries.get(booking.getItem().getId()).setLast(BookingSnapshot.of(booking)));
+        bookingRepository.findNextBookings(itemIds, now, NOT_OCCUPYING)
+                .forEach(booking -> summaries.get(booking.getItem().getId()).setNext(BookingSnapshot.of(booking)));
+        return summaries;
+    }
+
+    /**
+     * Rebuilds and stores summaries of the items from bookings. Stored summaries are locked before bookings
+     * are read, so of concurrent refreshes of an item the one committing last has read the latest bookings.
+     */
+    @Transactional
+    public void refresh(Collection<Long> itemIds) {
+        Map<Long, ItemBookingSummary> stored = summaryRepository.findForUpdateByItemIdInOrderByItemIdAsc(itemIds)
+                .stream()
+                .collect(Collectors.toMap(ItemBookingSummary::getItemId, Function.identity()));
+        compute(itemIds, LocalDateTime.now()).forEach((itemId, computed) -> {
+            ItemBookingSummary summary = stored.get(itemId);
+            if (summary == null) {
+                if (computed.getLast() == null && computed.getNext() == null) {
+                    return;
+                }
+                summary = new ItemBookingSummary(itemId);
+            }
+            summary.setLast(computed.getLast());
+            summary.setNext(computed.getNext());
+            summaryRepository.save(summary);
+        });
+    }
+}
@@ -0,0 +1,31 @@
+package ru.practicum.shareit.item.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.event.BookingChangedEvent;
+import ru.practicum.shareit.core.event.DomainEventHandler;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Rebuilds booking summaries of the items of changed bookings, once per item and batch
+ */
+@Component
+@RequiredArgsConstructor
+public class ItemBookingSummaryUpdater implements DomainEventHandler<BookingChangedEvent> {
+    private final ItemBookingSummaryService summaryService;
+
+    @Override
+    public Class<BookingChangedEvent> eventType() {
+        return BookingChangedEvent.class;
+    }
+
+    @Override
+    public void handle(List<BookingChangedEvent> events) {
+        Set<Long> itemIds = new LinkedHashSet<>();
+        events.forEach(event -> itemIds.add(event.getItemId()));
+        summaryService.refresh(itemIds);
+    }
+}
@@ -0,0 +1,274 @@
+package ru.practicum.shareit.item.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.core.exception.WrongArgumentException;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemImportErrorDto;
+import ru.practicum.shareit.item.dto.ItemImportResultDto;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemBookingSummary;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
+import ru.practicum.shareit.item.search.ItemSuggestIndex;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Imports items of one owner from an uploaded CSV or NDJSON file. The file is read line by line, every chunk
+ * of rows is parsed and validated in parallel and stored in its own transaction with batched inserts, so
+ * memory is bounded by the chunk size. Invalid rows are reported by line and do not stop the import.
+ */
+@Slf4j
+@Service
+public class ItemImportService {
+    private final UserService userService;
+    private final ItemMapper itemMapper;
+    private final ItemRequestRepository itemRequestRepository;
+    private final ItemSearchIndex itemSearchIndex;
+    private final ItemSuggestIndex itemSuggestIndex;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final int maxErrors;
+
+    public ItemImportService(UserService userService,
+                             ItemMapper itemMapper,
+                             ItemRequestRepository itemRequestRepository,
+                             ItemSearchIndex itemSearchIndex,
+                             ItemSuggestIndex itemSuggestIndex,
+                             EntityManager entityManager,
+                             ObjectMapper objectMapper,
+                             Validator validator,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${shareit.item-import.chunk-size:1000}") int chunkSize,
+                             @Value("${shareit.item-import.max-errors:1000}") int maxErrors) {
+        this.userService = userService;
+        this.itemMapper = itemMapper;
+        this.itemRequestRepository = itemRequestRepository;
+        this.itemSearchIndex = itemSearchIndex;
+        this.itemSuggestIndex = itemSuggestIndex;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.maxErrors = maxErrors;
+    }
+
+    public enum Format {
+        CSV,
+        NDJSON
+    }
+
+    public ItemImportResultDto importItems(Long userId, Format format, InputStream in) {
+        UserDto owner = userService.getById(userId);
+        ItemImportResultDto result = new ItemImportResultDto(0, 0, new ArrayList<>());
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            long line = 0;
+            Function<String, ItemDto> parser;
+            if (format == Format.CSV) {
+                parser = csvParser(reader.readLine());
+                line++;
+            } else {
+                parser = this::parseJson;
+            }
+
+            List<Row> chunk = new ArrayList<>(chunkSize);
+            String text;
+            while ((text = reader.readLine()) != null) {
+                line++;
+                if (text.isBlank()) {
+                    continue;
+                }
+                chunk.add(new Row(line, text));
+                if (chunk.size() == chunkSize) {
+                    importChunk(chunk, parser, owner, result);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                importChunk(chunk, parser, owner, result);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        log.info("ItemImportService/importItems: owner {}, imported {}, failed {}", userId, result.getImported(), result.getFailed());
+        return result;
+    }
+
+    private void importChunk(List<Row> rows, Function<String, ItemDto> parser, UserDto owner, ItemImportResultDto result) {
+        List<ParsedRow> parsed = rows.parallelStream()
+                .map(row -> parse(row, parser))
+                .toList();
+
+        Set<Long> requestIds = parsed.stream()
+                .filter(row -> row.error() == null && row.item().getRequestId() != null)
+                .map(row -> row.item().getRequestId())
+                .collect(Collectors.toSet());
+        Set<Long> existingRequestIds = requestIds.isEmpty()
+                ? Set.of()
+                : Set.copyOf(itemRequestRepository.findIdsByIdIn(requestIds));
+
+        List<ParsedRow> valid = new ArrayList<>(parsed.size());
+        for (ParsedRow row : parsed) {
+            if (row.error() != null) {
+                fail(result, row.line(), row.error());
+            } else if (row.item().getRequestId() != null && !existingRequestIds.contains(row.item().getRequestId())) {
+                fail(result, row.line(), String.format("Запрос с ид %s не найден", row.item().getRequestId()));
+            } else {
+                valid.add(row);
+            }
+        }
+        if (valid.isEmpty()) {
+            return;
+        }
+
+        try {
+            List<Item> items = Objects.requireNonNull(transactionTemplate.execute(status -> persist(valid, owner)));
+            items.forEach(item -> {
+                itemSearchIndex.index(item);
+                itemSuggestIndex.index(item);
+            });
+            result.setImported(result.getImported() + items.size());
+        } catch (PersistenceException | DataAccessException | TransactionException e) {
+            log.warn("ItemImportService/importChunk: chunk of {} rows from line {} failed", valid.size(), valid.get(0).line(), e);
+            valid.forEach(row -> fail(result, row.line(), "Не удалось сохранить позицию"));
+        }
+    }
+
+    /**
+     * Inserts the items and their empty booking summaries. Ids come from the pooled sequence,
+     * so Hibernate sends both in JDBC batches on flush.
+     */
+    private List<Item> persist(List<ParsedRow> rows, UserDto owner) {
+        User ownerReference = entityManager.getReference(User.class, owner.getId());
+        List<Item> items = new ArrayList<>(rows.size());
+        for (ParsedRow row : rows) {
+            Item item = itemMapper.map(row.item(), owner);
+            item.setId(null);
+            item.setOwner(ownerReference);
+            entityManager.persist(item);
+            entityManager.persist(new ItemBookingSummary(item.getId()));
+            items.add(item);
+        }
+        entityManager.flush();
+        entityManager.clear();
+        return items;
+    }
+
+    private ParsedRow parse(Row row, Function<String, ItemDto> parser) {
+        ItemDto item;
+        try {
+            item = parser.apply(row.text());
+        } catch (IllegalArgumentException e) {
+            return new ParsedRow(row.line(), null, e.getMessage());
+        }
+        Set<ConstraintViolation<ItemDto>> violations = validator.validate(item);
+        if (!violations.isEmpty()) {
+            return new ParsedRow(row.line(), null, violations.stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; ")));
+        }
+        return new ParsedRow(row.line(), item, null);
+    }
+
+    private ItemDto parseJson(String text) {
+        try {
+            return objectMapper.readValue(text, ItemDto.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Некорректный JSON: " + e.getOriginalMessage());
+        }
+    }
+
+    /**
+     * Parser of rows with the columns named in the header: name, description, available and optional requestId
+     */
+    private static Function<String, ItemDto> csvParser(String header) {
+        if (header == null) {
+            throw new WrongArgumentException("Файл пуст");
+        }
+        List<String> columns = CsvLineParser.split(header).stream()
+                .map(column -> column.strip().toLowerCase(Locale.ROOT))
+                .toList();
+        int name = columns.indexOf("name");
+        int description = columns.indexOf("description");
+        int available = columns.indexOf("available");
+        int requestId = columns.indexOf("requestid");
+        if (name < 0 || description < 0 || available < 0) {
+            throw new WrongArgumentException("Заголовок CSV должен содержать колонки name, description и available");
+        }
+        return text -> {
+            List<String> fields = CsvLineParser.split(text);
+            if (fields.size() != columns.size()) {
+                throw new IllegalArgumentException(String.format("Ожидалось колонок: %d, получено: %d",
+                        columns.size(), fields.size()));
+            }
+            ItemDto item = new ItemDto();
+            item.setName(blankToNull(fields.get(name)));
+            item.setDescription(blankToNull(fields.get(description)));
+            item.setAvailable(parseBoolean(fields.get(available)));
+            if (requestId >= 0 && blankToNull(fields.get(requestId)) != null) {
+                try {
+                    item.setRequestId(Long.parseLong(fields.get(requestId).strip()));
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("requestId: некорректное число " + fields.get(requestId));
+                }
+            }
+            return item;
+        };
+    }
+
+    private static Boolean parseBoolean(String value) {
+        String stripped = value.strip().toLowerCase(Locale.ROOT);
+        return switch (stripped) {
+            case "" -> null;
+            case "true" -> true;
+            case "false" -> false;
+            default -> throw new IllegalArgumentException("available: ожидалось true или false, получено " + value);
+        };
+    }
+
+    private static String blankToNull(String value) {
+        return value.isBlank() ? null : value;
+    }
+
+    private void fail(ItemImportResultDto result, long line, String error) {
+        result.setFailed(result.getFailed() + 1);
+        if (result.getErrors().size() < maxErrors) {
+            result.getErrors().add(new ItemImportErrorDto(line, error));
+        }
+    }
+
+    private record Row(long line, String text) {
+    }
+
+    private record ParsedRow(long line, ItemDto item, String error) {
+    }
+}
@@ -3,7 +3,10 @@ package ru.practicum.shareit.item.service;
 import ru.practicum.shareit.item.dto.*;
 import ru.practicum.shareit.item.model.Item;
 
+import java.time.LocalDateTime;
 import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 
 public interface ItemService {
 
@@ -13,11 +16,21 @@ public interface ItemService {
 
     ItemDto getById(Long itemId);
 
+    String getItemETag(Long itemId);
+
+    String getOwnerItemsETag(Long ownerId);
+
+    Map<Long, ItemDto> getByIds(Collection<Long> itemIds);
+
     ItemDatesDto getItemDateDtoById(Long itemId);
 
     Collection<ItemDatesDto> getByOwnerId(Long ownerId);
 
-    Collection<ItemDto> search(String text);
+    ItemAvailabilityDto getAvailability(Long itemId, LocalDateTime from, LocalDateTime to);
+
+    List<ItemSuggestionDto> suggest(String prefix, Integer size);
+
+    Collection<ItemDto> search(String text, Integer from, Integer size);
 
     Item getItemById(Long itemId);
 
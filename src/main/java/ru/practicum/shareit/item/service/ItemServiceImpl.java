@@ -1,24 +1,41 @@
 package ru.practicum.shareit.item.service;
 
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
-import ru.practicum.shareit.booking.model.BookingDates;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingAvailabilityEngine;
+import ru.practicum.shareit.core.concurrency.ReadOnlyTasks;
 import ru.practicum.shareit.core.exception.*;
+import ru.practicum.shareit.core.metrics.PhaseMetrics;
+import ru.practicum.shareit.core.pagination.OffsetPageRequest;
 import ru.practicum.shareit.item.dto.*;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemBookingSummary;
+import ru.practicum.shareit.item.model.ItemWithSummary;
 import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.ItemBookingSummaryRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
+import ru.practicum.shareit.item.search.ItemSuggestIndex;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.service.UserService;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -32,11 +49,21 @@ import static java.util.stream.Collectors.toList;
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class ItemServiceImpl implements ItemService {
+    private static final Duration MAX_AVAILABILITY_RANGE = Duration.ofDays(366);
+
     private final ItemRepository itemRepository;
     private final UserService userService;
     private final ItemMapper itemMapper;
     private final BookingRepository bookingRepository;
     private final CommentRepository commentRepository;
+    private final ItemSearchIndex itemSearchIndex;
+    private final ItemSuggestIndex itemSuggestIndex;
+    private final ItemBookingSummaryRepository summaryRepository;
+    private final ItemBookingSummaryService summaryService;
+    private final PhaseMetrics phaseMetrics;
+    private final ReadOnlyTasks readOnlyTasks;
+    private final EntityManager entityManager;
+    private final BookingAvailabilityEngine availabilityEngine;
 
     @Override
     @Transactional
@@ -44,6 +71,8 @@ public class ItemServiceImpl implements ItemService {
         UserDto user = userService.getById(userId);
         Item item = itemMapper.map(itemDto, user);
         item = itemRepository.save(item);
+        summaryRepository.save(new ItemBookingSummary(item.getId()));
+        indexAfterCommit(item);
         return itemMapper.map(item);
     }
 
@@ -62,6 +91,7 @@ public class ItemServiceImpl implements ItemService {
         log.info("ItemServiceImpl/update map update: {}", oldItem);
         oldItem = itemRepository.save((oldItem));
         log.info("ItemServiceImpl/update result: {}", oldItem);
+        indexAfterCommit(oldItem);
         return itemMapper.map(oldItem);
     }
 
@@ -70,6 +100,30 @@ public class ItemServiceImpl implements ItemService {
         return itemMapper.map(getItemById(itemId));
     }
 
+    @Override
+    public String getItemETag(Long itemId) {
+        long version = itemRepository.findVersionById(itemId)
+                .orElseThrow(() -> new NotFoundException(String.format("Позиция с ид %s не найдена", itemId)));
+        // comments show the current author names, a renamed author changes the response as well
+        return "item-" + version + "-" + commentRepository.sumAuthorVersionsByItemId(itemId);
+    }
+
+    @Override
+    public String getOwnerItemsETag(Long ownerId) {
+        String etag = itemRepository.findListVersionByOwnerId(ownerId, LocalDateTime.now()).etag();
+        if (etag == null) {
+            return null;
+        }
+        return etag + "-" + commentRepository.sumAuthorVersionsByItemOwnerId(ownerId);
+    }
+
+    @Override
+    public Map<Long, ItemDto> getByIds(Collection<Long> itemIds) {
+        return itemRepository.findAllById(itemIds)
+                .stream()
+                .collect(Collectors.toMap(Item::getId, itemMapper::map));
+    }
+
     @Override
     public ItemDatesDto getItemDateDtoById(Long itemId) {
         Item item = getItemById(itemId);
@@ -82,37 +136,110 @@ public class ItemServiceImpl implements ItemService {
     }
 
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Collection<ItemDatesDto> getByOwnerId(Long ownerId) {
-        Map<Long, BookingDates> lastBookings = bookingRepository
-                .lastBookings(LocalDateTime.now(), ownerId)
+        LocalDateTime now = LocalDateTime.now();
+        // the query phase spans all parallel reads, from the first submit to the last join
+        long queryStart = System.nanoTime();
+        CompletableFuture<Collection<ItemWithSummary>> itemsTask =
+                readOnlyTasks.submit(() -> itemRepository.findWithSummaryByOwnerId(ownerId));
+        CompletableFuture<Map<Long, ItemBookingSummary>> recomputedTask = itemsTask.thenCompose(items -> {
+            List<Long> staleIds = items.stream()
+                    .filter(item -> item.getSummary() != null && item.getSummary().isStale(now))
+                    .map(item -> item.getItem().getId())
+                    .collect(toList());
+            return staleIds.isEmpty()
+                    ? CompletableFuture.completedFuture(Map.of())
+                    : readOnlyTasks.submit(() -> summaryService.compute(staleIds, now));
+        });
+        CompletableFuture<Map<Long, List<CommentResponseDto>>> commentsTask =
+                readOnlyTasks.submit(() -> commentRepository.findByItem_OwnerId(ownerId)
+                        .stream()
+                        .collect(Collectors.groupingBy(comment -> comment.getItem().getId(),
+                                Collectors.mapping(itemMapper::map, toList()))));
+        ReadOnlyTasks.join(itemsTask, recomputedTask, commentsTask);
+        phaseMetrics.timer(PhaseMetrics.QUERY, "/items", null)
+                .record(System.nanoTime() - queryStart, TimeUnit.NANOSECONDS);
+
+        Collection<ItemWithSummary> items = itemsTask.join();
+        Map<Long, ItemBookingSummary> recomputed = recomputedTask.join();
+        Map<Long, List<CommentResponseDto>> mapComments = commentsTask.join();
+        return phaseMetrics.timer(PhaseMetrics.MAPPING, "/items", null).record(() -> items.stream().map(item -> {
+                    Long itemId = item.getItem().getId();
+                    ItemBookingSummary summary = recomputed.getOrDefault(itemId, item.getSummary());
+                    return itemMapper.map(
+                            item.getItem(),
+                            summary == null ? null : itemMapper.map(summary.getLast()),
+                            summary == null ? null : itemMapper.map(summary.getNext()),
+                            mapComments.get(itemId));
+                })
+                .collect(toList()));
+    }
+
+    @Override
+    public ItemAvailabilityDto getAvailability(Long itemId, LocalDateTime from, LocalDateTime to) {
+        getItemById(itemId);
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime start = from == null || from.isBefore(now) ? now : from;
+        LocalDateTime end = to == null ? start.plusDays(30) : to;
+        if (!end.isAfter(start)) {
+            throw new WrongArgumentException("Конец периода должен быть позже его начала и текущего момента");
+        }
+        if (Duration.between(start, end).compareTo(MAX_AVAILABILITY_RANGE) > 0) {
+            throw new WrongArgumentException("Период не может быть длиннее 366 дней");
+        }
+
+        List<AvailabilityWindowDto> free = availabilityEngine.getFreeWindows(itemId, start, end)
                 .stream()
-                .collect(Collectors.toMap(BookingDates::getItemId, Function.identity()));
+                .map(window -> new AvailabilityWindowDto(window.getStart().toString(), window.getEnd().toString()))
+                .collect(toList());
+        return new ItemAvailabilityDto(itemId, start.toString(), end.toString(), free);
+    }
 
-        Map<Long, BookingDates> nextBookings = bookingRepository
-                .nextBookings(LocalDateTime.now(), ownerId)
+    @Override
+    public List<ItemSuggestionDto> suggest(String prefix, Integer size) {
+        return itemSuggestIndex.suggest(prefix, Math.min(size, ItemSuggestIndex.MAX_SUGGESTIONS))
                 .stream()
-                .collect(Collectors.toMap(BookingDates::getItemId, Function.identity()));
+                .map(suggestion -> new ItemSuggestionDto(suggestion.getKey(), suggestion.getValue()))
+                .collect(toList());
+    }
 
-        Collection<Item> items = itemRepository.findByOwnerId(ownerId);
+    @Override
+    public Collection<ItemDto> search(String text, Integer from, Integer size) {
+        // no size means every match, as before paging was added
+        int limit = size == null ? Integer.MAX_VALUE : size;
+        if (!itemSearchIndex.isReady()) {
+            Collection<Item> items = itemRepository.search(text, new OffsetPageRequest(from, limit, Sort.by("id")));
+            return items.stream().map(itemMapper::map).collect(toList());
+        }
 
-        Map<Long, List<CommentResponseDto>> mapComments = commentRepository
-                .findByItemIdIn(items.stream().map(Item::getId).collect(toList()))
+        List<Long> ids = itemSearchIndex.search(text, from, limit);
+        Map<Long, Item> items = itemRepository.findAllById(ids)
                 .stream()
-                .collect(Collectors.groupingBy(comment -> comment.getItem().getId(),
-                        Collectors.mapping(itemMapper::map, toList())));
-
-        return items.stream().map(item -> itemMapper.map(
-                        item,
-                        itemMapper.map(lastBookings.get(item.getId())),
-                        itemMapper.map(nextBookings.get(item.getId())),
-                        mapComments.get(item.getId())))
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        return ids.stream()
+                .map(items::get)
+                .filter(item -> item != null && item.getAvailable())
+                .map(itemMapper::map)
                 .collect(toList());
     }
 
-    @Override
-    public Collection<ItemDto> search(String text) {
-        Collection<Item> items = itemRepository.search(text);
-        return items.stream().map(itemMapper::map).collect(toList());
+    /**
+     * Updates the in-memory indexes once the item is committed, so a rollback leaves them untouched
+     */
+    private void indexAfterCommit(Item item) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            itemSearchIndex.index(item);
+            itemSuggestIndex.index(item);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                itemSearchIndex.index(item);
+                itemSuggestIndex.index(item);
+            }
+        });
     }
 
     @Override
@@ -125,10 +252,13 @@ public class ItemServiceImpl implements ItemService {
     public CommentResponseDto addComment(Long itemId, Long authorId, CommentRequestDto commentDto) {
         ItemDto item = getById(itemId);
         UserDto author = userService.getById(authorId);
-        if (bookingRepository.findByItemIdAndBookerIdAndEndDateBeforeAndStatus(itemId, authorId, LocalDateTime.now(), BookingStatus.APPROVED).isEmpty()) {
+        if (bookingRepository.findByItemIdAndBookerIdAndEndDateBeforeAndStatusIn(itemId, authorId, LocalDateTime.now(),
+                EnumSet.of(BookingStatus.APPROVED, BookingStatus.COMPLETED)).isEmpty()) {
             throw new WrongArgumentException("Не найдено успешное бронирование позиции");
         }
 
+        // the item response includes comments, so a new comment has to change the item version and its ETag
+        entityManager.lock(getItemById(itemId), LockModeType.OPTIMISTIC_FORCE_INCREMENT);
         Comment comment = commentRepository.save(itemMapper.map(commentDto, item, author, LocalDateTime.now()));
         return itemMapper.map(comment);
     }
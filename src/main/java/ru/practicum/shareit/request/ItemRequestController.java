@@ -1,12 +1,56 @@
 package ru.practicum.shareit.request;
 
-import org.springframework.web.bind.annotation.RequestMapping;
-import org.springframework.web.bind.annotation.RestController;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Positive;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.core.pagination.KeysetCursor;
+import ru.practicum.shareit.request.dto.ItemRequestCreateDto;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.dto.ItemRequestPageDto;
+import ru.practicum.shareit.request.service.ItemRequestService;
+
+import java.util.Collection;
 
 /**
- * TODO Sprint add-item-requests.
+ * API for ItemRequest
  */
 @RestController
 @RequestMapping(path = "/requests")
+@RequiredArgsConstructor
 public class ItemRequestController {
+    private final ItemRequestService itemRequestService;
+
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    public ItemRequestDto add(@RequestHeader("X-Sharer-User-Id") Long userId,
+                              @Valid @RequestBody ItemRequestCreateDto itemRequest) {
+        return itemRequestService.add(itemRequest, userId);
+    }
+
+    @GetMapping
+    public Collection<ItemRequestDto> getOwn(@RequestHeader("X-Sharer-User-Id") Long userId) {
+        return itemRequestService.getByRequestorId(userId);
+    }
+
+    @GetMapping("/all")
+    public ResponseEntity<Collection<ItemRequestDto>> getAll(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                             @RequestParam(required = false) String cursor,
+                                                             @RequestParam(defaultValue = "20") @Positive @Max(1000) Integer size) {
+        ItemRequestPageDto page = itemRequestService.getAll(userId, cursor, size);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(KeysetCursor.NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getRequests());
+    }
+
+    @GetMapping("/{requestId}")
+    public ItemRequestDto getById(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                  @PathVariable Long requestId) {
+        return itemRequestService.getById(requestId, userId);
+    }
 }
@@ -0,0 +1,20 @@
+package ru.practicum.shareit.request.dto;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * Item offered in answer to a request
+ */
+@Data
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@NoArgsConstructor
+@AllArgsConstructor
+public class ItemAnswerDto {
+    Long id;
+    String name;
+    Long ownerId;
+}
@@ -1,7 +1,24 @@
 package ru.practicum.shareit.request.dto;
 
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+import java.util.List;
+
 /**
- * TODO Sprint add-item-requests.
+ * Dto class for ItemRequest with the items offered in answer
  */
+
+@Data
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@NoArgsConstructor
+@AllArgsConstructor
 public class ItemRequestDto {
+    Long id;
+    String description;
+    String created;
+    List<ItemAnswerDto> items;
 }
@@ -0,0 +1,21 @@
+package ru.practicum.shareit.request.dto;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+import java.util.List;
+
+/**
+ * Page of the request feed with the cursor of the next page, null for the last page
+ */
+@Data
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@NoArgsConstructor
+@AllArgsConstructor
+public class ItemRequestPageDto {
+    List<ItemRequestDto> requests;
+    String nextCursor;
+}
@@ -0,0 +1,34 @@
+package ru.practicum.shareit.request.mapper;
+
+import org.mapstruct.*;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.dto.ItemAnswerDto;
+import ru.practicum.shareit.request.dto.ItemRequestCreateDto;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Class with methods to map ItemRequest to ItemRequestDto and ItemRequestCreateDto to ItemRequest
+ */
+
+@Mapper(unmappedTargetPolicy = ReportingPolicy.IGNORE,
+        componentModel = "spring")
+public interface ItemRequestMapper {
+
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "description", source = "entity.description")
+    @Mapping(target = "requestor", source = "requestor")
+    @Mapping(target = "created", source = "created")
+    ItemRequest map(ItemRequestCreateDto entity, User requestor, LocalDateTime created);
+
+    @Mapping(target = "id", source = "entity.id")
+    @Mapping(target = "items", source = "items")
+    ItemRequestDto map(ItemRequest entity, List<ItemAnswerDto> items);
+
+    @Mapping(target = "ownerId", source = "owner.id")
+    ItemAnswerDto map(Item item);
+}
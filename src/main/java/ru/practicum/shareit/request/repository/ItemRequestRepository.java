@@ -0,0 +1,22 @@
+package ru.practicum.shareit.request.repository;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import ru.practicum.shareit.request.model.ItemRequest;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long> {
+
+    List<ItemRequest> findByRequestorIdOrderByCreatedDescIdDesc(Long requestorId);
+
+    Window<ItemRequest> findByRequestorIdNot(Long requestorId, ScrollPosition position, Sort sort, Limit limit);
+
+    @Query("select r.id from ItemRequest r where r.id in ?1")
+    List<Long> findIdsByIdIn(Collection<Long> ids);
+}
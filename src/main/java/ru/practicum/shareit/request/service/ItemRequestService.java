@@ -0,0 +1,18 @@
+package ru.practicum.shareit.request.service;
+
+import ru.practicum.shareit.request.dto.ItemRequestCreateDto;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.dto.ItemRequestPageDto;
+
+import java.util.Collection;
+
+public interface ItemRequestService {
+
+    ItemRequestDto add(ItemRequestCreateDto itemRequestCreateDto, Long userId);
+
+    Collection<ItemRequestDto> getByRequestorId(Long userId);
+
+    ItemRequestPageDto getAll(Long userId, String cursor, Integer size);
+
+    ItemRequestDto getById(Long requestId, Long userId);
+}
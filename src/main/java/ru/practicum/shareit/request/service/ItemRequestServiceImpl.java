@@ -0,0 +1,102 @@
+package ru.practicum.shareit.request.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.core.exception.NotFoundException;
+import ru.practicum.shareit.core.pagination.KeysetCursor;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.request.dto.ItemAnswerDto;
+import ru.practicum.shareit.request.dto.ItemRequestCreateDto;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.dto.ItemRequestPageDto;
+import ru.practicum.shareit.request.mapper.ItemRequestMapper;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Implementation of ItemRequestService. Answering items of a whole page are loaded with one query.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class ItemRequestServiceImpl implements ItemRequestService {
+    private static final Sort FEED_ORDER = Sort.by(Sort.Order.desc("created"), Sort.Order.desc("id"));
+
+    private final ItemRequestRepository itemRequestRepository;
+    private final ItemRepository itemRepository;
+    private final ItemRequestMapper itemRequestMapper;
+    private final UserService userService;
+
+    @Override
+    @Transactional
+    public ItemRequestDto add(ItemRequestCreateDto itemRequestCreateDto, Long userId) {
+        User requestor = userService.getUserById(userId);
+        ItemRequest itemRequest = itemRequestRepository.save(
+                itemRequestMapper.map(itemRequestCreateDto, requestor, LocalDateTime.now()));
+        return itemRequestMapper.map(itemRequest, List.of());
+    }
+
+    @Override
+    public Collection<ItemRequestDto> getByRequestorId(Long userId) {
+        checkUser(userId);
+        return withItems(itemRequestRepository.findByRequestorIdOrderByCreatedDescIdDesc(userId));
+    }
+
+    @Override
+    public ItemRequestPageDto getAll(Long userId, String cursor, Integer size) {
+        checkUser(userId);
+        Window<ItemRequest> requests = itemRequestRepository.findByRequestorIdNot(userId,
+                KeysetCursor.position(cursor, "created"), FEED_ORDER, Limit.of(size));
+
+        String nextCursor = null;
+        if (requests.hasNext() && !requests.isEmpty()) {
+            ItemRequest last = requests.getContent().get(requests.size() - 1);
+            nextCursor = new KeysetCursor(last.getCreated(), last.getId()).encode();
+        }
+        return new ItemRequestPageDto(withItems(requests.getContent()), nextCursor);
+    }
+
+    @Override
+    public ItemRequestDto getById(Long requestId, Long userId) {
+        checkUser(userId);
+        ItemRequest itemRequest = itemRequestRepository.findById(requestId).orElseThrow(() -> new NotFoundException(
+                String.format("Запрос с ид %s не найден", requestId))
+        );
+        return withItems(List.of(itemRequest)).get(0);
+    }
+
+    private void checkUser(Long userId) {
+        if (!userService.existsUser(userId)) {
+            throw new NotFoundException(String.format("Пользователь с ид %s не найден", userId));
+        }
+    }
+
+    private List<ItemRequestDto> withItems(List<ItemRequest> requests) {
+        if (requests.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, List<ItemAnswerDto>> answers = itemRepository
+                .findByRequestIdIn(requests.stream().map(ItemRequest::getId).collect(Collectors.toList()))
+                .stream()
+                .collect(Collectors.groupingBy(Item::getRequestId,
+                        Collectors.mapping(itemRequestMapper::map, Collectors.toList())));
+        return requests.stream()
+                .map(request -> itemRequestMapper.map(request, answers.getOrDefault(request.getId(), List.of())))
+                .collect(Collectors.toList());
+    }
+}
@@ -3,6 +3,8 @@ package ru.practicum.shareit.user.model;
 import jakarta.persistence.*;
 import lombok.*;
 import lombok.experimental.FieldDefaults;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 /**
  * describes users who own, book and request items
@@ -10,6 +12,8 @@ import lombok.experimental.FieldDefaults;
 
 @Entity
 @Table(name = "users")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "users")
 @Getter
 @Setter
 @ToString
@@ -21,6 +25,8 @@ public class User {
     Long id;
     String name;
     String email;
+    @Version
+    long version;
 
     @Override
     public boolean equals(Object o) {
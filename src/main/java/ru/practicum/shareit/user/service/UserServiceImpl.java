@@ -2,8 +2,12 @@ package ru.practicum.shareit.user.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.core.config.CacheConfig;
 import ru.practicum.shareit.core.exception.ConditionsNotMetException;
 import ru.practicum.shareit.core.exception.InternalServerException;
 import ru.practicum.shareit.core.exception.NotFoundException;
@@ -25,6 +29,7 @@ public class UserServiceImpl implements UserService {
     private final UserMapper userMapper;
 
     @Override
+    @Cacheable(cacheNames = CacheConfig.USERS, key = "#userId")
     public UserDto getById(Long userId) {
         return userMapper.map(getUserById(userId));
     }
@@ -42,6 +47,7 @@ public class UserServiceImpl implements UserService {
 
     @Override
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.USERS, key = "#userId")
     public UserDto update(UserUpdateDto userUpdateDto, Long userId) {
         log.info("UserServiceImpl/update args: {}, {}", userUpdateDto, userId);
         if (userId == null) {
@@ -58,6 +64,10 @@ public class UserServiceImpl implements UserService {
 
     @Override
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.USERS, key = "#userId"),
+            @CacheEvict(cacheNames = CacheConfig.USER_EXISTS, key = "#userId")
+    })
     public void delete(Long userId) {
         userRepository.deleteById(userId);
     }
@@ -70,7 +80,8 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
+    @Cacheable(cacheNames = CacheConfig.USER_EXISTS, key = "#userId", unless = "!#result")
     public Boolean existsUser(Long userId) {
-        return userRepository.findById(userId).stream().findAny().isPresent();
+        return userRepository.existsById(userId);
     }
 }
@@ -0,0 +1,14 @@
+-- denormalized last and next booking of items, databases baselined from the released schema.sql lack it
+CREATE TABLE IF NOT EXISTS item_booking_summary (
+	item_id bigint NOT NULL,
+	last_booking_id bigint NULL,
+	last_booker_id bigint NULL,
+	last_start_date timestamp without time zone NULL,
+	last_end_date timestamp without time zone NULL,
+	next_booking_id bigint NULL,
+	next_booker_id bigint NULL,
+	next_start_date timestamp without time zone NULL,
+	next_end_date timestamp without time zone NULL,
+	CONSTRAINT item_booking_summary_pk PRIMARY KEY (item_id),
+	CONSTRAINT item_booking_summary_items_fk FOREIGN KEY (item_id) REFERENCES items(item_id) ON DELETE CASCADE
+);
@@ -0,0 +1,12 @@
+-- booker lists filter by booker and page by (end_date, booking_id)
+CREATE INDEX IF NOT EXISTS bookings_booker_end_idx ON bookings (booker_id, end_date, booking_id);
+
+-- owner lists join through items, last/next booking subqueries and comment checks look up by item and start
+CREATE INDEX IF NOT EXISTS bookings_item_start_idx ON bookings (item_id, start_date);
+
+-- availability engine rebuild and status lists
+CREATE INDEX IF NOT EXISTS bookings_status_end_idx ON bookings (status, end_date);
+
+CREATE INDEX IF NOT EXISTS items_owner_idx ON items (owner_id);
+
+CREATE INDEX IF NOT EXISTS comments_item_idx ON comments (item_id);
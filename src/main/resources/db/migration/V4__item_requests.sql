@@ -0,0 +1,12 @@
+CREATE SEQUENCE IF NOT EXISTS requests_seq START WITH 1 INCREMENT BY 50;
+
+ALTER TABLE requests ADD COLUMN IF NOT EXISTS created timestamp without time zone NOT NULL DEFAULT CURRENT_TIMESTAMP;
+
+-- own requests, newest first
+CREATE INDEX IF NOT EXISTS requests_requestor_created_idx ON requests (requestor_id, created DESC);
+
+-- feed of all requests is read in (created, request_id) descending order page by page
+CREATE INDEX IF NOT EXISTS requests_created_idx ON requests (created DESC, request_id DESC);
+
+-- answering items of a page of requests
+CREATE INDEX IF NOT EXISTS items_request_idx ON items (request_id);
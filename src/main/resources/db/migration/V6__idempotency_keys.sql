@@ -0,0 +1,14 @@
+-- responses of requests sent with an Idempotency-Key header, shared by all instances
+CREATE TABLE IF NOT EXISTS idempotency_keys (
+	idempotency_key varchar(512) NOT NULL,
+	fingerprint varchar(64) NOT NULL,
+	status integer NOT NULL,
+	content_type varchar(255),
+	location varchar(1024),
+	body bytea NOT NULL,
+	created timestamp without time zone NOT NULL,
+	CONSTRAINT pk_idempotency_key PRIMARY KEY (idempotency_key)
+);
+
+-- expired keys are deleted by created
+CREATE INDEX IF NOT EXISTS idempotency_keys_created_idx ON idempotency_keys (created);
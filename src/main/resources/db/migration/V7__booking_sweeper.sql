@@ -0,0 +1,2 @@
+-- overdue WAITING bookings are found by status and start, oldest first
+CREATE INDEX IF NOT EXISTS bookings_status_start_idx ON bookings (status, start_date, booking_id);
@@ -0,0 +1,235 @@
+package ru.practicum.shareit;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.TestFactory;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.repository.core.RepositoryInformation;
+import org.springframework.data.repository.support.Repositories;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.IntFunction;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Runs every query method of every repository against seeded H2, explains the SQL it issued and
+ * fails when a table is read by a full scan. A new repository method is checked without changes here.
+ */
+@ActiveProfiles("test")
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=ru.practicum.shareit.QueryPlanTest$SqlRecorder",
+        "spring.jpa.properties.hibernate.format_sql=false",
+        "shareit.item-summary.reconcile-initial-delay=PT24H",
+        "shareit.booking-sweeper.initial-delay=PT24H"
+})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class QueryPlanTest {
+    private static final Pattern TABLE_SCAN = Pattern.compile("PUBLIC\\.(\\w+)\\.tableScan");
+    private static final Pattern QUERY_START = Pattern.compile("\\s*(select|update|delete)\\b", Pattern.CASE_INSENSITIVE);
+    private static final int USERS = 50;
+    private static final int ITEMS = 500;
+    private static final int BOOKINGS = 5000;
+    private static final int COMMENTS = 1000;
+    private static final int REQUESTS = 200;
+
+    /**
+     * Full scans that are intended, by repository method
+     */
+    private static final Map<String, Set<String>> ALLOWED_SCANS = Map.of(
+            "ItemRepository.search", Set.of("ITEMS"),
+            "BookingRepository.countByItem", Set.of("BOOKINGS")
+    );
+
+    @Autowired
+    private ApplicationContext context;
+    @Autowired
+    private JdbcTemplate jdbc;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @BeforeAll
+    void seed() {
+        LocalDateTime now = LocalDateTime.now();
+        jdbc.batchUpdate("insert into users (user_id, name, email) values (?, ?, ?)",
+                rows(USERS, i -> new Object[]{i, "user " + i, "plan" + i + "@example.com"}));
+        jdbc.batchUpdate("insert into requests (request_id, description, requestor_id, created) values (?, ?, ?, ?)",
+                rows(REQUESTS, i -> new Object[]{i, "request " + i, i % USERS + 1, now.minusHours(i)}));
+        jdbc.batchUpdate("insert into items (item_id, name, description, available, owner_id) values (?, ?, ?, ?, ?)",
+                rows(ITEMS, i -> new Object[]{i, "item " + i, "description " + i, i % 10 != 0, i % USERS + 1}));
+        jdbc.update("update items set request_id = item_id where item_id <= ?", REQUESTS / 2);
+        jdbc.batchUpdate("insert into bookings (booking_id, start_date, end_date, item_id, booker_id, status) " +
+                        "values (?, ?, ?, ?, ?, ?)",
+                rows(BOOKINGS, i -> new Object[]{i, now.plusDays(i % 40 - 20), now.plusDays(i % 40 - 18),
+                        i % ITEMS + 1, i % USERS + 1, i % 3 == 0 ? "WAITING" : "APPROVED"}));
+        jdbc.batchUpdate("insert into comments (comment_id, text, item_id, author_id, create_date) values (?, ?, ?, ?, ?)",
+                rows(COMMENTS, i -> new Object[]{i, "comment " + i, i % ITEMS + 1, i % USERS + 1, now}));
+        jdbc.execute("analyze");
+    }
+
+    @AfterAll
+    void cleanUp() {
+        jdbc.update("delete from comments");
+        jdbc.update("delete from bookings");
+        jdbc.update("delete from items");
+        jdbc.update("delete from requests");
+        jdbc.update("delete from users");
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @TestFactory
+    Stream<DynamicTest> queriesUseIndexes() {
+        Repositories repositories = new Repositories(context);
+        List<DynamicTest> tests = new ArrayList<>();
+        for (Class<?> domainType : repositories) {
+            RepositoryInformation information = repositories.getRequiredRepositoryInformation(domainType);
+            Object repository = repositories.getRepositoryFor(domainType).orElseThrow();
+            for (Method method : information.getQueryMethods()) {
+                String name = information.getRepositoryInterface().getSimpleName() + "." + method.getName();
+                tests.add(DynamicTest.dynamicTest(name, () -> checkPlans(name, repository, method)));
+            }
+        }
+        return tests.stream();
+    }
+
+    private void checkPlans(String name, Object repository, Method method) {
+        SqlRecorder.STATEMENTS.clear();
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.executeWithoutResult(status -> {
+            status.setRollbackOnly();
+            invoke(repository, method);
+        });
+        List<String> queries = SqlRecorder.STATEMENTS.stream()
+                .filter(sql -> QUERY_START.matcher(sql).lookingAt())
+                .toList();
+        assertFalse(queries.isEmpty(), name + " issued no query");
+
+        Set<String> allowed = ALLOWED_SCANS.getOrDefault(name, Set.of());
+        for (String sql : queries) {
+            String plan = explain(sql);
+            Matcher matcher = TABLE_SCAN.matcher(plan);
+            while (matcher.find()) {
+                if (!allowed.contains(matcher.group(1))) {
+                    fail(name + " scans table " + matcher.group(1) + ":\n" + plan);
+                }
+            }
+        }
+    }
+
+    private static void invoke(Object repository, Method method) {
+        Object[] args = new Object[method.getParameterCount()];
+        Type[] types = method.getGenericParameterTypes();
+        for (int i = 0; i < args.length; i++) {
+            args[i] = sample(types[i]);
+        }
+        try {
+            Object result = method.invoke(repository, args);
+            if (result instanceof Stream<?> stream) {
+                try (stream) {
+                    stream.count();
+                }
+            }
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(method + " failed", e);
+        }
+    }
+
+    private static Object sample(Type type) {
+        if (type instanceof ParameterizedType parameterized
+                && Collection.class.isAssignableFrom((Class<?>) parameterized.getRawType())) {
+            Class<?> element = (Class<?>) parameterized.getActualTypeArguments()[0];
+            if (element.isEnum()) {
+                return List.of(element.getEnumConstants());
+            }
+            return List.of(sample(element), sample(element));
+        }
+        Class<?> raw = (Class<?>) type;
+        if (raw == Long.class || raw == long.class) {
+            return 1L;
+        } else if (raw == Integer.class || raw == int.class) {
+            return 1;
+        } else if (raw == Boolean.class || raw == boolean.class) {
+            return true;
+        } else if (raw == String.class) {
+            return "item";
+        } else if (raw == LocalDateTime.class) {
+            return LocalDateTime.now();
+        } else if (raw.isEnum()) {
+            return raw.getEnumConstants()[0];
+        } else if (raw == ScrollPosition.class) {
+            return ScrollPosition.keyset();
+        } else if (raw == Sort.class) {
+            return Sort.by("id");
+        } else if (raw == Limit.class) {
+            return Limit.of(10);
+        } else if (raw == Pageable.class) {
+            return PageRequest.of(0, 10, Sort.by("id"));
+        }
+        throw new IllegalArgumentException("No sample value for " + type + ", add one to QueryPlanTest");
+    }
+
+    private String explain(String sql) {
+        return jdbc.execute((ConnectionCallback<String>) connection -> {
+            try (PreparedStatement statement = connection.prepareStatement("explain " + sql)) {
+                int parameters = statement.getParameterMetaData().getParameterCount();
+                for (int i = 1; i <= parameters; i++) {
+                    statement.setObject(i, null);
+                }
+                StringBuilder plan = new StringBuilder();
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        plan.append(resultSet.getString(1)).append('\n');
+                    }
+                }
+                return plan.toString();
+            }
+        });
+    }
+
+    private static List<Object[]> rows(int count, IntFunction<Object[]> row) {
+        List<Object[]> rows = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            rows.add(row.apply(i));
+        }
+        return rows;
+    }
+
+    public static class SqlRecorder implements StatementInspector {
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
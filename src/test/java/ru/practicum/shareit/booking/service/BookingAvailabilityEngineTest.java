@@ -0,0 +1,137 @@
+package ru.practicum.shareit.booking.service;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingInterval;
+import ru.practicum.shareit.booking.model.TimeWindow;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.core.exception.DataConflictException;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class BookingAvailabilityEngineTest {
+    private static final int THREADS = 32;
+    private static final int ATTEMPTS_PER_THREAD = 500;
+    private static final int ITEMS = 4;
+
+    private final BookingRepository bookingRepository = mock(BookingRepository.class);
+    private final BookingAvailabilityEngine engine = new BookingAvailabilityEngine(bookingRepository);
+    private final AtomicLong ids = new AtomicLong();
+    private final LocalDateTime base = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.HOURS);
+
+    @Test
+    void concurrentReservationsNeverOverlap() throws Exception {
+        Map<Long, Queue<Booking>> reserved = new ConcurrentHashMap<>();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> tasks = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            tasks.add(executor.submit(() -> {
+                start.await();
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < ATTEMPTS_PER_THREAD; i++) {
+                    Long itemId = (long) random.nextInt(ITEMS);
+                    LocalDateTime from = base.plusHours(random.nextInt(200));
+                    LocalDateTime to = from.plusHours(1 + random.nextInt(5));
+                    try {
+                        Booking booking = engine.reserve(itemId, from, to, () -> booking(from, to));
+                        reserved.computeIfAbsent(itemId, id -> new ConcurrentLinkedQueue<>()).add(booking);
+                    } catch (DataConflictException ignore) {
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> task : tasks) {
+            task.get(1, TimeUnit.MINUTES);
+        }
+        executor.shutdown();
+
+        assertFalse(reserved.isEmpty());
+        reserved.forEach((itemId, bookings) -> {
+            List<Booking> sorted = bookings.stream().sorted(Comparator.comparing(Booking::getStartDate)).toList();
+            for (int i = 1; i < sorted.size(); i++) {
+                assertFalse(sorted.get(i).getStartDate().isBefore(sorted.get(i - 1).getEndDate()),
+                        "item " + itemId + " is double booked");
+            }
+        });
+    }
+
+    @Test
+    void releasedPeriodCanBeBookedAgain() {
+        LocalDateTime from = base.plusHours(1);
+        LocalDateTime to = base.plusHours(3);
+        Booking booking = engine.reserve(1L, from, to, () -> booking(from, to));
+
+        assertThrows(DataConflictException.class,
+                () -> engine.reserve(1L, from.plusHours(1), to.plusHours(1), () -> booking(from, to)));
+        assertTrue(engine.isFree(1L, to, to.plusHours(1)));
+
+        engine.releaseOnCommit(1L, booking.getId());
+
+        assertTrue(engine.isFree(1L, from, to));
+    }
+
+    @Test
+    void freeWindowsAreGapsBetweenReservations() {
+        engine.reserve(1L, base.plusHours(2), base.plusHours(4), () -> booking(base.plusHours(2), base.plusHours(4)));
+        engine.reserve(1L, base.plusHours(4), base.plusHours(5), () -> booking(base.plusHours(4), base.plusHours(5)));
+        engine.reserve(1L, base.plusHours(8), base.plusHours(12), () -> booking(base.plusHours(8), base.plusHours(12)));
+
+        assertEquals(List.of(
+                        new TimeWindow(base, base.plusHours(2)),
+                        new TimeWindow(base.plusHours(5), base.plusHours(8))),
+                engine.getFreeWindows(1L, base, base.plusHours(10)));
+        assertEquals(List.of(new TimeWindow(base.plusHours(5), base.plusHours(6))),
+                engine.getFreeWindows(1L, base.plusHours(3), base.plusHours(6)));
+        assertEquals(List.of(), engine.getFreeWindows(1L, base.plusHours(9), base.plusHours(11)));
+        assertEquals(List.of(new TimeWindow(base, base.plusHours(10))),
+                engine.getFreeWindows(2L, base, base.plusHours(10)));
+    }
+
+    @Test
+    void overlappingBookingsLoadedByRebuildAreChecked() {
+        when(bookingRepository.findIntervals(any(), any())).thenReturn(List.of(
+                new BookingInterval(100L, 1L, base.plusHours(1), base.plusHours(10)),
+                new BookingInterval(101L, 1L, base.plusHours(2), base.plusHours(3))));
+        engine.rebuild();
+
+        assertFalse(engine.isFree(1L, base.plusHours(5), base.plusHours(6)));
+        assertThrows(DataConflictException.class, () -> engine.reserve(1L, base.plusHours(5), base.plusHours(6),
+                () -> booking(base.plusHours(5), base.plusHours(6))));
+        assertTrue(engine.isFree(1L, base.plusHours(10), base.plusHours(11)));
+    }
+
+    @Test
+    void freeWindowsSkipLongBookingSpanningTheStart() {
+        when(bookingRepository.findIntervals(any(), any())).thenReturn(List.of(
+                new BookingInterval(100L, 1L, base.plusHours(1), base.plusHours(10)),
+                new BookingInterval(101L, 1L, base.plusHours(2), base.plusHours(3))));
+        engine.rebuild();
+
+        assertEquals(List.of(new TimeWindow(base.plusHours(10), base.plusHours(12))),
+                engine.getFreeWindows(1L, base.plusHours(4), base.plusHours(12)));
+        assertEquals(List.of(
+                        new TimeWindow(base, base.plusHours(1)),
+                        new TimeWindow(base.plusHours(10), base.plusHours(12))),
+                engine.getFreeWindows(1L, base, base.plusHours(12)));
+    }
+
+    private Booking booking(LocalDateTime from, LocalDateTime to) {
+        Booking booking = new Booking();
+        booking.setId(ids.incrementAndGet());
+        booking.setStartDate(from);
+        booking.setEndDate(to);
+        return booking;
+    }
+}
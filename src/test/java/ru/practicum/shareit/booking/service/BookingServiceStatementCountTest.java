@@ -0,0 +1,124 @@
+package ru.practicum.shareit.booking.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import ru.practicum.shareit.booking.dto.BookingPageDto;
+import ru.practicum.shareit.booking.model.BookingState;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@ActiveProfiles("test")
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "shareit.item-summary.reconcile-initial-delay=PT24H",
+        "shareit.booking-sweeper.initial-delay=PT24H"
+})
+class BookingServiceStatementCountTest {
+    private static final long OWNER_ID = 1L;
+    private static final long BOOKER_ID = 2L;
+    private static final int ITEMS = 5;
+    private static final int BOOKINGS = 12;
+
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private JdbcTemplate jdbc;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS);
+        jdbc.update("insert into users (user_id, name, email) values (?, 'owner', 'owner@example.com')", OWNER_ID);
+        jdbc.update("insert into users (user_id, name, email) values (?, 'booker', 'booker@example.com')", BOOKER_ID);
+        for (long item = 1; item <= ITEMS; item++) {
+            jdbc.update("insert into items (item_id, name, description, available, owner_id) values (?, ?, 'item', true, ?)",
+                    item, "item " + item, OWNER_ID);
+        }
+        for (long booking = 1; booking <= BOOKINGS; booking++) {
+            LocalDateTime start = now.plusDays((booking - BOOKINGS / 2) * 2);
+            jdbc.update("insert into bookings (booking_id, start_date, end_date, item_id, booker_id, status) " +
+                            "values (?, ?, ?, ?, ?, ?)",
+                    booking, start, start.plusDays(3), booking % ITEMS + 1, BOOKER_ID,
+                    BookingStatus.values()[(int) (booking % BookingStatus.values().length)].name());
+        }
+        userService.existsUser(OWNER_ID);
+        userService.existsUser(BOOKER_ID);
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbc.update("delete from bookings");
+        jdbc.update("delete from items");
+        jdbc.update("delete from users");
+        // rows are seeded past Hibernate, so entities of the deleted rows have to leave the second-level cache
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @ParameterizedTest
+    @EnumSource(BookingState.class)
+    void bookerListIsOneStatement(BookingState state) {
+        bookingService.getByUserAndState(BOOKER_ID, state, null, 100);
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @ParameterizedTest
+    @EnumSource(BookingState.class)
+    void ownerListIsOneStatement(BookingState state) {
+        bookingService.getByOwnerAndState(OWNER_ID, state, null, 100);
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void nextPageIsOneStatement() {
+        BookingPageDto first = bookingService.getByUserAndState(BOOKER_ID, BookingState.ALL, null, 5);
+        assertFalse(first.getBookings().isEmpty());
+        statistics.clear();
+
+        bookingService.getByUserAndState(BOOKER_ID, BookingState.ALL, first.getNextCursor(), 5);
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void listWithoutCursorAndSizeIsNotPaged() {
+        BookingPageDto all = bookingService.getByUserAndState(BOOKER_ID, BookingState.ALL, null, null);
+
+        assertEquals(BOOKINGS, all.getBookings().size());
+        assertNull(all.getNextCursor());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void getByIdIsOneStatement() {
+        bookingService.getById(1L, BOOKER_ID);
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+}
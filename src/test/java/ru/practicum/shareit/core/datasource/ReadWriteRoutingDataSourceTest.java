@@ -0,0 +1,112 @@
+package ru.practicum.shareit.core.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReadWriteRoutingDataSourceTest {
+    private static final String REPLICA = "replica-0";
+    private static final String BROKEN_REPLICA = "replica-1";
+
+    private ReadWriteRoutingDataSource routingDataSource;
+    private JdbcTemplate jdbc;
+    private TransactionTemplate readOnly;
+    private TransactionTemplate readWrite;
+
+    @BeforeEach
+    void setUp() {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        replicas.put(REPLICA, database("replica"));
+        routingDataSource = new ReadWriteRoutingDataSource(database("primary"), replicas);
+
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routingDataSource);
+        jdbc = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        readWrite = new TransactionTemplate(transactionManager);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        routingDataSource.close();
+    }
+
+    @Test
+    void readOnlyTransactionReadsReplica() {
+        assertEquals("replica", readOnly.execute(status -> source()));
+    }
+
+    @Test
+    void readWriteTransactionAndNoTransactionUsePrimary() {
+        assertEquals("primary", readWrite.execute(status -> source()));
+        assertEquals("primary", source());
+    }
+
+    @Test
+    void pinnedThreadReadsPrimary() {
+        assertEquals("primary", ReadYourWrites.call(true, () -> readOnly.execute(status -> source())));
+        assertEquals("replica", ReadYourWrites.call(false, () -> readOnly.execute(status -> source())));
+    }
+
+    @Test
+    void failedReplicaLeavesRotationAndComesBack() {
+        routingDataSource.setHealthy(REPLICA, false);
+        assertEquals("primary", readOnly.execute(status -> source()));
+
+        routingDataSource.setHealthy(REPLICA, true);
+        assertEquals("replica", readOnly.execute(status -> source()));
+    }
+
+    @Test
+    void healthMonitorMarksUnreachableReplicaDown() throws Exception {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        replicas.put(REPLICA, database("replica"));
+        replicas.put(BROKEN_REPLICA, new DriverManagerDataSource("jdbc:h2:mem:missing;IFEXISTS=TRUE", "sa", ""));
+        try (ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(database("primary"), replicas)) {
+            ReplicaHealthMonitor monitor = new ReplicaHealthMonitor(routing, Duration.ofSeconds(1));
+
+            monitor.check();
+
+            assertTrue(routing.isHealthy(REPLICA));
+            assertFalse(routing.isHealthy(BROKEN_REPLICA));
+            for (int i = 0; i < 4; i++) {
+                assertEquals(REPLICA, readOnlyLookupKey(routing));
+            }
+        }
+    }
+
+    private Object readOnlyLookupKey(ReadWriteRoutingDataSource routing) {
+        TransactionTemplate transaction = new TransactionTemplate(new DataSourceTransactionManager(routing));
+        transaction.setReadOnly(true);
+        return transaction.execute(status -> routing.determineCurrentLookupKey());
+    }
+
+    private String source() {
+        return jdbc.queryForObject("select name from source", String.class);
+    }
+
+    private static DataSource database(String name) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:routing-" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("create table if not exists source (name varchar(20))");
+        jdbc.update("delete from source");
+        jdbc.update("insert into source (name) values (?)", name);
+        return dataSource;
+    }
+}
@@ -0,0 +1,57 @@
+package ru.practicum.shareit.core.datasource;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Routing through the production path: JpaTransactionManager applies the read-only flag with HibernateJpaDialect
+ * and only the lazy connection proxy lets the routing data source see it
+ */
+@ActiveProfiles("test")
+@SpringBootTest(properties = {
+        "shareit.item-summary.reconcile-initial-delay=PT24H",
+        "shareit.booking-sweeper.initial-delay=PT24H"
+})
+class ReplicaDataSourceConfigTest {
+    private static final String REPLICA_URL = "jdbc:h2:mem:jpa-replica;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @DynamicPropertySource
+    static void replica(DynamicPropertyRegistry registry) {
+        DriverManagerDataSource replica = new DriverManagerDataSource(REPLICA_URL, "sa", "");
+        Flyway.configure()
+                .dataSource(replica)
+                .locations("classpath:db/migration", "classpath:db/vendor/h2")
+                .load()
+                .migrate();
+        JdbcTemplate jdbc = new JdbcTemplate(replica);
+        jdbc.update("delete from users");
+        jdbc.update("insert into users (user_id, name, email) values (1, 'replica', 'replica@example.com')");
+
+        registry.add("shareit.datasource.replicas[0].url", () -> REPLICA_URL);
+        registry.add("shareit.datasource.replicas[0].username", () -> "sa");
+        registry.add("shareit.datasource.replicas[0].password", () -> "");
+        registry.add("shareit.datasource.replicas[0].driver-class-name", () -> "org.h2.Driver");
+    }
+
+    @Test
+    void readOnlyRepositoryReadReachesReplica() {
+        // SimpleJpaRepository.findAll is @Transactional(readOnly = true), the user exists on the replica only
+        assertEquals(List.of("replica"), userRepository.findAll().stream().map(User::getName).toList());
+    }
+}
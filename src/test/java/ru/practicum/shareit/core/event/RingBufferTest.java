@@ -0,0 +1,77 @@
+package ru.practicum.shareit.core.event;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RingBufferTest {
+
+    @Test
+    void keepsOrderAndRejectsWhenFull() {
+        RingBuffer<Integer> buffer = new RingBuffer<>(3);
+        assertEquals(4, buffer.capacity());
+        for (int i = 0; i < 4; i++) {
+            assertTrue(buffer.offer(i));
+        }
+        assertFalse(buffer.offer(4));
+
+        List<Integer> batch = new ArrayList<>();
+        assertEquals(3, buffer.drainTo(batch, 3));
+        assertEquals(List.of(0, 1, 2), batch);
+        assertTrue(buffer.offer(4));
+        assertEquals(3, buffer.poll());
+        assertEquals(4, buffer.poll());
+        assertNull(buffer.poll());
+    }
+
+    @Test
+    void everyElementIsTakenOnceByConcurrentConsumers() throws InterruptedException {
+        int producers = 4;
+        int perProducer = 50_000;
+        RingBuffer<Integer> buffer = new RingBuffer<>(64);
+        Set<Integer> taken = ConcurrentHashMap.newKeySet();
+        AtomicInteger duplicates = new AtomicInteger();
+        CountDownLatch produced = new CountDownLatch(producers);
+        ExecutorService executor = Executors.newFixedThreadPool(producers + 2);
+
+        for (int p = 0; p < producers; p++) {
+            int offset = p * perProducer;
+            executor.execute(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    while (!buffer.offer(offset + i)) {
+                        Thread.onSpinWait();
+                    }
+                }
+                produced.countDown();
+            });
+        }
+        for (int c = 0; c < 2; c++) {
+            executor.execute(() -> {
+                while (produced.getCount() > 0 || !buffer.isEmpty()) {
+                    Integer element = buffer.poll();
+                    if (element != null && !taken.add(element)) {
+                        duplicates.incrementAndGet();
+                    }
+                }
+            });
+        }
+        executor.shutdown();
+
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+        assertEquals(0, duplicates.get());
+        assertEquals(producers * perProducer, taken.size());
+    }
+}
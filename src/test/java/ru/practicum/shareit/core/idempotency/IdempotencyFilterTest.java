@@ -0,0 +1,147 @@
+package ru.practicum.shareit.core.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdempotencyFilterTest {
+    private final IdempotencyProperties properties = properties();
+    private final IdempotencyStore store = new CaffeineIdempotencyStore(properties);
+    private final IdempotencyFilter filter = filter(store);
+    private final AtomicInteger executions = new AtomicInteger();
+
+    @Test
+    void retryIsReplayedFromStore() throws Exception {
+        MockHttpServletResponse first = send(filter, "key-1", "{\"itemId\":1}", respond(201));
+        MockHttpServletResponse retry = send(filter, "key-1", "{\"itemId\":1}", respond(201));
+
+        assertEquals(1, executions.get());
+        assertEquals(201, retry.getStatus());
+        assertEquals(first.getContentAsString(), retry.getContentAsString());
+        assertEquals("true", retry.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+        assertNull(first.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+    }
+
+    @Test
+    void keyReusedWithOtherBodyIsRejected() throws Exception {
+        send(filter, "key-1", "{\"itemId\":1}", respond(201));
+        MockHttpServletResponse other = send(filter, "key-1", "{\"itemId\":2}", respond(201));
+
+        assertEquals(1, executions.get());
+        assertEquals(422, other.getStatus());
+    }
+
+    @Test
+    void keyReusedWithOtherQueryIsRejected() throws Exception {
+        MockHttpServletResponse approved = send(filter, "PATCH", "/bookings/5", "approved=true", "key-1", "",
+                respond(200));
+        MockHttpServletResponse rejected = send(filter, "PATCH", "/bookings/5", "approved=false", "key-1", "",
+                respond(200));
+
+        assertEquals(1, executions.get());
+        assertEquals(200, approved.getStatus());
+        assertEquals(422, rejected.getStatus());
+    }
+
+    @Test
+    void serverErrorsAndTransientRejectionsAreNotStored() throws Exception {
+        assertEquals(500, send(filter, "key-1", "{}", respond(500)).getStatus());
+        assertEquals(409, send(filter, "key-1", "{}", respond(409)).getStatus());
+        assertEquals(429, send(filter, "key-1", "{}", respond(429)).getStatus());
+        MockHttpServletResponse success = send(filter, "key-1", "{}", respond(201));
+
+        assertEquals(4, executions.get());
+        assertEquals(201, success.getStatus());
+        assertNull(success.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+    }
+
+    @Test
+    void concurrentDuplicatesRunOnce() throws Exception {
+        assertDuplicatesCoalesced(filter, filter);
+    }
+
+    @Test
+    void duplicatesOnInstancesSharingStoreRunOnce() throws Exception {
+        assertDuplicatesCoalesced(filter, filter(store));
+    }
+
+    private void assertDuplicatesCoalesced(IdempotencyFilter first, IdempotencyFilter second) throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        FilterChain slow = (request, response) -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            respond(201).doFilter(request, response);
+        };
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<MockHttpServletResponse> running = executor.submit(() -> send(first, "key-1", "{}", slow));
+            assertTrue(started.await(10, TimeUnit.SECONDS));
+            Future<MockHttpServletResponse> duplicate = executor.submit(() -> send(second, "key-1", "{}", respond(201)));
+            Thread.sleep(200);
+            assertFalse(duplicate.isDone());
+            release.countDown();
+
+            assertEquals(201, running.get(10, TimeUnit.SECONDS).getStatus());
+            MockHttpServletResponse coalesced = duplicate.get(10, TimeUnit.SECONDS);
+            assertEquals(201, coalesced.getStatus());
+            assertEquals("true", coalesced.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+            assertEquals(1, executions.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private FilterChain respond(int status) {
+        return (request, response) -> {
+            int execution = executions.incrementAndGet();
+            HttpServletResponse httpResponse = (HttpServletResponse) response;
+            httpResponse.setStatus(status);
+            httpResponse.setContentType("application/json");
+            httpResponse.getOutputStream().write(("{\"execution\":" + execution + "}").getBytes(StandardCharsets.UTF_8));
+        };
+    }
+
+    private static MockHttpServletResponse send(IdempotencyFilter filter, String key, String body, FilterChain chain)
+            throws Exception {
+        return send(filter, "POST", "/bookings", null, key, body, chain);
+    }
+
+    private static MockHttpServletResponse send(IdempotencyFilter filter, String method, String uri, String query,
+                                                String key, String body, FilterChain chain) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        request.setQueryString(query);
+        request.addHeader("X-Sharer-User-Id", "1");
+        request.addHeader(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, key);
+        request.setContentType("application/json");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+
+    private IdempotencyFilter filter(IdempotencyStore store) {
+        return new IdempotencyFilter(store, properties, new ObjectMapper(), new SimpleMeterRegistry());
+    }
+
+    private static IdempotencyProperties properties() {
+        IdempotencyProperties properties = new IdempotencyProperties();
+        properties.setInFlightTimeout(Duration.ofSeconds(10));
+        return properties;
+    }
+}
@@ -0,0 +1,51 @@
+package ru.practicum.shareit.core.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RateLimiterTest {
+    private static final long SECOND = Duration.ofSeconds(1).toNanos();
+
+    private final AtomicLong clock = new AtomicLong(1_000 * SECOND);
+    private final RateLimiter limiter = new RateLimiter(10, Duration.ofSeconds(1), 5, 100, clock::get);
+
+    @Test
+    void burstIsAllowedAtOnceThenSteadyRate() {
+        for (int i = 0; i < 6; i++) {
+            assertEquals(0, limiter.tryAcquire("1"));
+        }
+        long wait = limiter.tryAcquire("1");
+        assertEquals(SECOND / 10, wait);
+
+        clock.addAndGet(wait);
+        assertEquals(0, limiter.tryAcquire("1"));
+        assertTrue(limiter.tryAcquire("1") > 0);
+    }
+
+    @Test
+    void usersAreLimitedSeparately() {
+        for (int i = 0; i < 6; i++) {
+            limiter.tryAcquire("1");
+        }
+
+        assertTrue(limiter.tryAcquire("1") > 0);
+        assertEquals(0, limiter.tryAcquire("2"));
+    }
+
+    @Test
+    void idleUserGetsFullBurstBack() {
+        for (int i = 0; i < 6; i++) {
+            limiter.tryAcquire("1");
+        }
+        clock.addAndGet(SECOND);
+
+        for (int i = 0; i < 6; i++) {
+            assertEquals(0, limiter.tryAcquire("1"));
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+
+class ItemSuggestIndexTest {
+    private final ItemSuggestIndex index = new ItemSuggestIndex(mock(ItemRepository.class), mock(BookingRepository.class));
+
+    @Test
+    void mostBookedFirstByNameAndWordPrefix() {
+        index.index(item(1L, "Дрель ударная", true));
+        index.index(item(2L, "Аккумуляторная дрель", true));
+        index.index(item(3L, "Дрожжи", true));
+        index.addBookings(2L, 5);
+        index.addBookings(3L, 1);
+
+        assertEquals(List.of(2L, 3L, 1L), ids(index.suggest("Др", 10)));
+        assertEquals(List.of(2L, 1L), ids(index.suggest("дрель", 10)));
+        assertEquals(List.of(2L), ids(index.suggest("дрель", 1)));
+        assertEquals(List.of(1L), ids(index.suggest("ударн", 10)));
+        assertEquals(List.of(), ids(index.suggest("пила", 10)));
+    }
+
+    @Test
+    void renamedAndUnavailableItemsAreUpdated() {
+        index.index(item(1L, "Дрель", true));
+        index.index(item(2L, "Дрель-шуруповёрт", true));
+
+        index.index(item(1L, "Пила", true));
+        index.index(item(2L, "Дрель-шуруповёрт", false));
+
+        assertEquals(List.of(), ids(index.suggest("дре", 10)));
+        assertEquals(List.of(1L), ids(index.suggest("пи", 10)));
+    }
+
+    @Test
+    void longPrefixesAndBookingCountsSurviveUpdates() {
+        index.index(item(1L, "Аккумуляторная дрель", true));
+        index.index(item(2L, "Аккумуляторный фонарь", true));
+        index.index(item(3L, "Аккумуляторная пила", true));
+        index.addBookings(3L, 2);
+        index.index(item(3L, "Аккумуляторная пила цепная", true));
+
+        assertEquals(List.of(3L, 1L, 2L), ids(index.suggest("аккумулятор", 10)));
+        assertEquals(List.of(3L, 1L), ids(index.suggest("аккумуляторная", 10)));
+        assertEquals(List.of(3L), ids(index.suggest("аккумуляторная пила ц", 10)));
+
+        index.index(item(3L, "Аккумуляторная пила цепная", false));
+        index.index(item(3L, "Аккумуляторная пила цепная", true));
+        assertEquals(List.of(3L, 1L, 2L), ids(index.suggest("акку", 10)));
+    }
+
+    private static List<Long> ids(List<Map.Entry<Long, String>> suggestions) {
+        return suggestions.stream().map(Map.Entry::getKey).toList();
+    }
+
+    private static Item item(Long id, String name, boolean available) {
+        Item item = new Item();
+        item.setId(id);
+        item.setName(name);
+        item.setAvailable(available);
+        return item;
+    }
+}
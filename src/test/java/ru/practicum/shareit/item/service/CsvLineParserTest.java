@@ -0,0 +1,24 @@
+package ru.practicum.shareit.item.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CsvLineParserTest {
+
+    @Test
+    void splitsPlainAndQuotedFields() {
+        assertEquals(List.of("Дрель", "Ударная, 800 Вт", "true", ""),
+                CsvLineParser.split("Дрель,\"Ударная, 800 Вт\",true,"));
+        assertEquals(List.of("Пила \"Bosch\"", "false"), CsvLineParser.split("\"Пила \"\"Bosch\"\"\",false"));
+        assertEquals(List.of(""), CsvLineParser.split(""));
+    }
+
+    @Test
+    void unclosedQuoteIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> CsvLineParser.split("\"Дрель,true"));
+    }
+}
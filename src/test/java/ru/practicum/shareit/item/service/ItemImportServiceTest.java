@@ -0,0 +1,102 @@
+package ru.practicum.shareit.item.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import ru.practicum.shareit.item.dto.ItemImportErrorDto;
+import ru.practicum.shareit.item.dto.ItemImportResultDto;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@ActiveProfiles("test")
+@SpringBootTest(properties = {
+        "shareit.item-import.chunk-size=2",
+        "shareit.item-import.max-errors=2",
+        "shareit.item-summary.reconcile-initial-delay=PT24H",
+        "shareit.booking-sweeper.initial-delay=PT24H"
+})
+class ItemImportServiceTest {
+    private static final long OWNER_ID = 1L;
+    private static final long REQUEST_ID = 1L;
+
+    @Autowired
+    private ItemImportService itemImportService;
+    @Autowired
+    private JdbcTemplate jdbc;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @BeforeEach
+    void setUp() {
+        jdbc.update("insert into users (user_id, name, email) values (?, 'owner', 'owner@example.com')", OWNER_ID);
+        jdbc.update("insert into requests (request_id, description, requestor_id) values (?, 'нужна лестница', ?)",
+                REQUEST_ID, OWNER_ID);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbc.update("delete from items");
+        jdbc.update("delete from requests");
+        jdbc.update("delete from users");
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @Test
+    void csvRowsAreImportedInChunksAndErrorsKeepFileLines() {
+        ItemImportResultDto result = importItems(ItemImportService.Format.CSV, """
+                name,description,available,requestId
+                Дрель,Ударная,true,
+
+                Пила,Ручная,maybe,
+                Лестница,Стремянка,true,1
+                Палатка,Двухместная,true,99
+                Каяк,Надувной,false,
+                """);
+
+        assertEquals(3, result.getImported());
+        assertEquals(2, result.getFailed());
+        assertEquals(List.of(4L, 6L), lines(result));
+        assertEquals("Запрос с ид 99 не найден", result.getErrors().get(1).getError());
+        assertEquals(3, count("select count(*) from items where owner_id = 1"));
+        assertEquals(1, count("select count(*) from items where request_id = 1"));
+        assertEquals(3, count("select count(*) from item_booking_summary"));
+    }
+
+    @Test
+    void failedChunkDoesNotStopNdjsonImportAndErrorsAreCapped() {
+        ItemImportResultDto result = importItems(ItemImportService.Format.NDJSON, """
+                {"name":"Дрель","description":"Ударная","available":true}
+                {"name":"%s","description":"Слишком длинное имя","available":true}
+                {"name":"Пила","description":"Ручная","available":true}
+                не json
+                {"name":"Каяк","description":"Надувной","available":false}
+                """.formatted("x".repeat(300)));
+
+        assertEquals(2, result.getImported());
+        assertEquals(3, result.getFailed());
+        assertEquals(List.of(1L, 2L), lines(result));
+        assertEquals(List.of("Пила", "Каяк"), jdbc.queryForList("select name from items order by item_id", String.class));
+    }
+
+    private ItemImportResultDto importItems(ItemImportService.Format format, String content) {
+        return itemImportService.importItems(OWNER_ID, format,
+                new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private long count(String sql) {
+        return jdbc.queryForObject(sql, Long.class);
+    }
+
+    private static List<Long> lines(ItemImportResultDto result) {
+        return result.getErrors().stream().map(ItemImportErrorDto::getLine).toList();
+    }
+}